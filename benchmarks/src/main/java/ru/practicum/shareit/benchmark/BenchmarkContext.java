@@ -0,0 +1,30 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Запуск контекста сервера для бенчмарков: профиль test (H2 в памяти), без веб-сервера
+ * и с отключенным подробным логированием, чтобы вывод в консоль не попадал в измерения.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .logStartupInfo(false)
+                .run("--logging.level.ru.practicum.shareit=warn",
+                        "--logging.level.org.springframework.orm.jpa=warn",
+                        "--logging.level.org.springframework.transaction=warn",
+                        "--logging.level.org.springframework.transaction.interceptor=warn",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=warn",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--shareit.query-count.warn-threshold=" + Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingTargetView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка свободности окна бронирования (чтение вещи вместе с числом пересекающихся активных бронирований)
+ * в зависимости от числа активных бронирований вещи: для свободного окна после всех бронирований
+ * и для окна, занятого последним бронированием.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingAvailabilityBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int activeBookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private long itemId;
+    private LocalDateTime freeStart;
+    private LocalDateTime occupiedStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingRepository = context.getBean(BookingRepository.class);
+        SyntheticDataSet dataSet = new SyntheticDataSet(context).populate();
+
+        User owner = dataSet.addUser();
+        User booker = dataSet.addUser();
+        Item item = dataSet.addItem(owner);
+        LocalDateTime from = dataSet.getNow().plusDays(1);
+        dataSet.addConsecutiveBookings(item, booker, from, activeBookings, 1);
+
+        itemId = item.getId();
+        freeStart = from.plusDays(activeBookings);
+        occupiedStart = activeBookings == 0 ? freeStart : freeStart.minusHours(12);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BookingTargetView> freeWindow() {
+        Optional<BookingTargetView> target = bookingRepository.findBookingTarget(
+                itemId, freeStart, freeStart.plusDays(1));
+        target.ifPresent(BookingTargetView::getOverlappingBookings);
+        return target;
+    }
+
+    @Benchmark
+    public Optional<BookingTargetView> occupiedWindow() {
+        Optional<BookingTargetView> target = bookingRepository.findBookingTarget(
+                itemId, occupiedStart, occupiedStart.plusDays(1));
+        target.ifPresent(BookingTargetView::getOverlappingBookings);
+        return target;
+    }
+}
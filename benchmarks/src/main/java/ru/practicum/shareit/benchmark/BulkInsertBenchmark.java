@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка пачки бронирований и комментариев одной вещи в одной транзакции при разном размере
+ * JDBC batch сессии: 1 - каждая строка отдельным запросом, 50 - как в настройках сервера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"500"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private CommentRepository commentRepository;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private Item item;
+    private User booker;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingRepository = context.getBean(BookingRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        SyntheticDataSet dataSet = new SyntheticDataSet(context).populate();
+
+        item = dataSet.addItem(dataSet.addUser());
+        booker = dataSet.addUser();
+        now = dataSet.getNow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Iterable<Booking> insertBookings() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            List<Booking> bookings = new ArrayList<>(rows);
+
+            for (int i = 0; i < rows; i++) {
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .startTime(now.minusDays(i + 1))
+                        .endTime(now.minusDays(i))
+                        .approved(Boolean.TRUE)
+                        .build());
+            }
+            return bookingRepository.saveAll(bookings);
+        });
+    }
+
+    @Benchmark
+    public Iterable<Comment> insertComments() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            List<Comment> comments = new ArrayList<>(rows);
+
+            for (int i = 0; i < rows; i++) {
+                comments.add(Comment.builder()
+                        .item(item)
+                        .author(booker)
+                        .text("Отличная вещь " + i)
+                        .created(now)
+                        .build());
+            }
+            return commentRepository.saveAll(comments);
+        });
+    }
+}
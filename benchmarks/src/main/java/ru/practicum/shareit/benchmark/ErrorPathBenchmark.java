@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.handler.GlobalExceptionHandler;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ответы с ошибкой: вызов сервиса, который завершается бизнес-исключением, и обработка исключения
+ * в GlobalExceptionHandler. Обработчик выбирается и вызывается так же, как это делает Spring MVC:
+ * через ExceptionHandlerMethodResolver и отражение. Путь добавления бронирования длинный и прогревается
+ * дольше остальных, поэтому итераций прогрева больше обычного.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 8, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private UserService userService;
+    private BookingService bookingService;
+    private GlobalExceptionHandler handler;
+    private ExceptionHandlerMethodResolver resolver;
+    private long bookerId;
+    private long missingId;
+    private BookingDtoRequest occupiedWindow;
+    private BookingDtoRequest invalidDates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemService = context.getBean(ItemService.class);
+        userService = context.getBean(UserService.class);
+        bookingService = context.getBean(BookingService.class);
+        handler = context.getBean(GlobalExceptionHandler.class);
+        resolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+        SyntheticDataSet dataSet = new SyntheticDataSet(context).populate();
+
+        User owner = dataSet.addUser();
+        User booker = dataSet.addUser();
+        Item item = dataSet.addItem(owner);
+        LocalDateTime from = dataSet.getNow().plusDays(1);
+        dataSet.addConsecutiveBookings(item, booker, from, 1, 2);
+
+        bookerId = booker.getId();
+        missingId = Long.MAX_VALUE;
+        occupiedWindow = new BookingDtoRequest(item.getId(), from.plusDays(1), from.plusDays(3));
+        invalidDates = new BookingDtoRequest(item.getId(), from.plusDays(3), from.plusDays(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object itemNotFound() {
+        return handle(() -> itemService.getItemDto(missingId, bookerId));
+    }
+
+    @Benchmark
+    public Object userNotFound() {
+        return handle(() -> userService.getUser(missingId));
+    }
+
+    @Benchmark
+    public Object bookingWindowOccupied() {
+        return handle(() -> bookingService.addBooking(occupiedWindow, bookerId));
+    }
+
+    @Benchmark
+    public Object invalidBookingDates() {
+        return handle(() -> bookingService.addBooking(invalidDates, bookerId));
+    }
+
+    private Object handle(Supplier<?> call) {
+        try {
+            return call.get();
+
+        } catch (RuntimeException e) {
+            Method method = resolver.resolveMethodByThrowable(e);
+            ReflectionUtils.makeAccessible(method);
+            return ReflectionUtils.invokeMethod(method, handler, e);
+        }
+    }
+}
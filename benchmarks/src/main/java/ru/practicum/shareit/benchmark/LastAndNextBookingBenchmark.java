@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ActualItemBooking;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск последнего и следующего бронирования вещи для ее владельца в зависимости от числа
+ * активных бронирований вещи. Первое бронирование уже идет, остальные - в будущем.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LastAndNextBookingBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int activeBookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Item item;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingService = context.getBean(BookingService.class);
+        SyntheticDataSet dataSet = new SyntheticDataSet(context).populate();
+
+        User owner = dataSet.addUser();
+        User booker = dataSet.addUser();
+        item = dataSet.addItem(owner);
+        dataSet.addConsecutiveBookings(item, booker, dataSet.getNow().minusDays(1), 1, 2);
+        dataSet.addConsecutiveBookings(item, booker, dataSet.getNow().plusDays(1), activeBookings - 1, 1);
+
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<ActualItemBooking, BookingDtoShort> owner() {
+        return bookingService.getLastAndNextBookingByItem(item, ownerId);
+    }
+
+    @Benchmark
+    public Map<ActualItemBooking, BookingDtoShort> notOwner() {
+        return bookingService.getLastAndNextBookingByItem(item, bookerId);
+    }
+}
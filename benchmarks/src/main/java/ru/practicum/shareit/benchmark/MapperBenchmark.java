@@ -0,0 +1,165 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Преобразования MapStruct-мапперов на сущностях в памяти: вещь с комментариями,
+ * бронирование и запрос с ответными вещами. Комментарии и ответные вещи, как и в сервисах,
+ * передаются мапперам уже преобразованными. Мапперы берутся из контекста, так как
+ * сгенерированные реализации получают вложенные мапперы внедрением зависимостей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int COMMENTS_PER_ITEM = 5;
+    private static final int ITEMS_PER_REQUEST = 10;
+
+    private ConfigurableApplicationContext context;
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+    private ItemRequestMapper requestMapper;
+
+    private User owner;
+    private ItemRequest request;
+    private Item item;
+    private ItemDto itemDto;
+    private List<CommentDto> commentDtos;
+    private Set<ItemDto> requestItemDtos;
+    private Booking booking;
+    private BookingDtoShort lastBooking;
+    private BookingDtoShort nextBooking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemMapper = context.getBean(ItemMapper.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+        requestMapper = context.getBean(ItemRequestMapper.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        owner = User.builder().id(1L).name("Владелец").email("owner@shareit.ru").version(0L).build();
+        User booker = User.builder().id(2L).name("Арендатор").email("booker@shareit.ru").version(0L).build();
+
+        request = ItemRequest.builder()
+                .id(1L)
+                .requester(booker)
+                .description("Нужна аккумуляторная дрель")
+                .created(now)
+                .version(0L)
+                .items(new HashSet<>())
+                .build();
+
+        for (long id = 1; id <= ITEMS_PER_REQUEST; id++) {
+            request.getItems().add(makeItem(id, Set.of()));
+        }
+
+        Set<Comment> comments = new HashSet<>();
+        item = makeItem(ITEMS_PER_REQUEST + 1, comments);
+        for (long id = 1; id <= COMMENTS_PER_ITEM; id++) {
+            comments.add(Comment.builder()
+                    .id(id)
+                    .author(booker)
+                    .item(item)
+                    .text("Отличная дрель, спасибо")
+                    .created(now.minusDays(id))
+                    .build());
+        }
+
+        itemDto = itemMapper.mapToShortDto(item);
+        CommentMapper commentMapper = context.getBean(CommentMapper.class);
+        commentDtos = comments.stream()
+                .map(commentMapper::mapToDto)
+                .collect(Collectors.toList());
+        requestItemDtos = request.getItems().stream()
+                .map(itemMapper::mapToShortDto)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        booking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .booker(booker)
+                .startTime(now.plusDays(1))
+                .endTime(now.plusDays(2))
+                .approved(true)
+                .version(0L)
+                .build();
+        lastBooking = new BookingDtoShort(1L, booker.getId());
+        nextBooking = new BookingDtoShort(2L, booker.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.mapToDto(item, lastBooking, nextBooking, commentDtos);
+    }
+
+    @Benchmark
+    public ItemDto itemToShortDto() {
+        return itemMapper.mapToShortDto(item);
+    }
+
+    @Benchmark
+    public Item itemToModel() {
+        return itemMapper.mapToModel(itemDto, owner, request);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.mapToDto(booking, BookingStatus.APPROVED);
+    }
+
+    @Benchmark
+    public BookingDtoShort bookingToShortDto() {
+        return bookingMapper.mapToShortDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestDto requestToDto() {
+        return requestMapper.mapToDto(request, requestItemDtos);
+    }
+
+    private Item makeItem(long id, Set<Comment> comments) {
+        return Item.builder()
+                .id(id)
+                .owner(owner)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель с набором насадок")
+                .available(true)
+                .version(0L)
+                .request(request)
+                .comments(comments)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Синтетические данные для бенчмарков. Фон - пользователи, их вещи и прошедшие, текущие и будущие
+ * бронирования этих вещей, чтобы запросы работали не на пустых таблицах. Генератор детерминирован относительно
+ * базового момента now (начало текущего часа по переданным часам): имена, описания, владельцы, бронирующие
+ * и смещения дат бронирований от now одинаковы при каждом запуске, поэтому результаты разных коммитов
+ * можно сравнивать. Абсолютные даты совпадают только при одинаковых часах: сервер делит бронирования
+ * на прошедшие, текущие и будущие по системному времени, поэтому по умолчанию используются системные часы,
+ * а фиксированные часы (Clock.fixed) имеют смысл только для данных, не зависящих от этого деления.
+ */
+public class SyntheticDataSet {
+
+    public static final int USERS = 200;
+    public static final int ITEMS_PER_USER = 5;
+    public static final int BOOKINGS_PER_ITEM = 6;
+
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Палатка", "Велосипед", "Проектор", "Лестница"};
+    private static final String[] DETAILS = {"аккумуляторная", "с набором насадок", "для похода", "горный",
+            "для презентаций", "алюминиевая"};
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random = new Random(42);
+    private final LocalDateTime now;
+    private int userCount;
+
+    public SyntheticDataSet(ApplicationContext context) {
+        this(context, Clock.systemDefaultZone());
+    }
+
+    public SyntheticDataSet(ApplicationContext context, Clock clock) {
+        this.now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * Заполнение фона: USERS пользователей, по ITEMS_PER_USER вещей у каждого
+     * и по BOOKINGS_PER_ITEM бронирований каждой вещи другими пользователями.
+     */
+    public SyntheticDataSet populate() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(addUser());
+        }
+
+        for (User owner : users) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                Item item = addItem(owner);
+                User booker = users.get(random.nextInt(users.size()));
+
+                if (booker.getId().equals(owner.getId())) {
+                    booker = users.get((users.indexOf(owner) + 1) % users.size());
+                }
+                addConsecutiveBookings(item, booker, now.minusDays(BOOKINGS_PER_ITEM / 2), BOOKINGS_PER_ITEM, 1);
+            }
+        }
+        return this;
+    }
+
+    public User addUser() {
+        int number = ++userCount;
+
+        return userRepository.save(User.builder()
+                .name("Пользователь " + number)
+                .email("user" + number + "@shareit.ru")
+                .build());
+    }
+
+    public Item addItem(User owner) {
+        return itemRepository.save(Item.builder()
+                .owner(owner)
+                .name(NAMES[random.nextInt(NAMES.length)])
+                .description(NAMES[random.nextInt(NAMES.length)] + " " + DETAILS[random.nextInt(DETAILS.length)])
+                .available(true)
+                .build());
+    }
+
+    /**
+     * Добавление подряд идущих бронирований вещи по durationDays суток, начиная с from.
+     * Каждое третье бронирование еще не рассмотрено владельцем, остальные одобрены.
+     */
+    public void addConsecutiveBookings(Item item, User booker, LocalDateTime from, int count, int durationDays) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime start = from;
+
+            for (int i = 0; i < count; i++) {
+                LocalDateTime end = start.plusDays(durationDays);
+                bookingRepository.save(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .startTime(start)
+                        .endTime(end)
+                        .approved(i % 3 == 0 ? null : Boolean.TRUE)
+                        .build());
+                start = end;
+            }
+        });
+    }
+
+    public LocalDateTime getNow() {
+        return now;
+    }
+}
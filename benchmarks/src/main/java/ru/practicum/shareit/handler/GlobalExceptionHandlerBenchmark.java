@@ -0,0 +1,98 @@
+package ru.practicum.shareit.handler;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.exception.EndBeforeOrEqualsStartException;
+import ru.practicum.shareit.booking.exception.TimeWindowOccupiedException;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.WrongOwnerUpdatingItemException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пути ошибок: создание исключения сервиса на стеке заданной глубины (обработка HTTP-запроса
+ * проходит через десятки кадров фильтров, контроллеров и прокси) и его обработка GlobalExceptionHandler.
+ * Бенчмарки handle* измеряют только обработчик на заранее созданном исключении.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final RuntimeException badRequest = new EndBeforeOrEqualsStartException(
+            "Время окончания бронирования должно быть позже времени начала.");
+    private final RuntimeException forbidden = new WrongOwnerUpdatingItemException(
+            "Попытка обновления вещи id=1 пользователем id=2, не являющимся ее владельцем.");
+    private final RuntimeException notFound = new ItemNotFoundException("Вещь с id=1 не найдена.");
+    private final RuntimeException conflict = new TimeWindowOccupiedException(
+            "Выбранное время бронирования вещи id=1 уже занято.");
+
+    @Benchmark
+    public ResponseEntity<?> handleBadRequest() {
+        return handler.handleBadRequestExceptions(badRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> handleForbidden() {
+        return handler.handleForbiddenExceptions(forbidden);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> handleNotFound() {
+        return handler.handleNotFoundExceptions(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> handleConflict() {
+        return handler.handleConflictExceptions(conflict);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> throwAndHandleNotFound(Stack stack) {
+        try {
+            throwNotFound(stack.depth);
+            return null;
+
+        } catch (ItemNotFoundException e) {
+            return handler.handleNotFoundExceptions(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> throwAndHandleConflict(Stack stack) {
+        try {
+            throwConflict(stack.depth);
+            return null;
+
+        } catch (TimeWindowOccupiedException e) {
+            return handler.handleConflictExceptions(e);
+        }
+    }
+
+    private static void throwNotFound(int depth) {
+        if (depth > 0) {
+            throwNotFound(depth - 1);
+            return;
+        }
+        throw new ItemNotFoundException("Вещь с id=1 не найдена.");
+    }
+
+    private static void throwConflict(int depth) {
+        if (depth > 0) {
+            throwConflict(depth - 1);
+            return;
+        }
+        throw new TimeWindowOccupiedException("Выбранное время бронирования вещи id=1 уже занято.");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Stack {
+
+        @Param({"10", "100"})
+        private int depth;
+    }
+}
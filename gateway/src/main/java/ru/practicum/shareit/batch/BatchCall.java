@@ -0,0 +1,80 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Map;
+
+/**
+ * Разобранная часть пакетного запроса: переменные пути, параметры запроса, id пользователя и тело.
+ * Методы преобразования повторяют значения по умолчанию из контроллеров шлюза.
+ */
+class BatchCall {
+
+    private final Map<String, String> pathVariables;
+    private final MultiValueMap<String, String> queryParams;
+    private final Long userId;
+    private final JsonNode body;
+    private final ObjectMapper objectMapper;
+
+    BatchCall(Map<String, String> pathVariables, MultiValueMap<String, String> queryParams,
+              Long userId, JsonNode body, ObjectMapper objectMapper) {
+        this.pathVariables = pathVariables;
+        this.queryParams = queryParams;
+        this.userId = userId;
+        this.body = body;
+        this.objectMapper = objectMapper;
+    }
+
+    Long pathLong(String name) {
+        return Long.valueOf(pathVariables.get(name));
+    }
+
+    String query(String name, String defaultValue) {
+        String value = queryParams.getFirst(name);
+        return value != null ? value : defaultValue;
+    }
+
+    String requiredQuery(String name) {
+        String value = queryParams.getFirst(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Отсутствует обязательный параметр запроса %s.", name));
+        }
+        return value;
+    }
+
+    Integer queryInt(String name, int defaultValue) {
+        String value = queryParams.getFirst(name);
+        return value != null ? Integer.valueOf(value) : defaultValue;
+    }
+
+    Long queryLong(String name, long defaultValue) {
+        String value = queryParams.getFirst(name);
+        return value != null ? Long.valueOf(value) : defaultValue;
+    }
+
+    Boolean requiredQueryBoolean(String name) {
+        String value = requiredQuery(name);
+
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.valueOf(value);
+        }
+        throw new IllegalArgumentException(String.format("Некорректное значение параметра %s: %s.", name, value));
+    }
+
+    Long userId() {
+        if (userId == null) {
+            throw new IllegalArgumentException("Отсутствует идентификатор пользователя X-Sharer-User-Id.");
+        }
+        return userId;
+    }
+
+    <T> T body(Class<T> type) {
+        if (body == null || body.isNull()) {
+            throw new IllegalArgumentException("Отсутствует тело части пакетного запроса.");
+        }
+        return objectMapper.convertValue(body, type);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+
+import javax.validation.Valid;
+
+@Controller
+@RequestMapping(path = "/batch")
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+public class BatchController {
+
+    private final BatchDispatcher dispatcher;
+
+    @PostMapping
+    public ResponseEntity<BatchResponseDto> executeBatch(
+            @RequestHeader(name = "X-Sharer-User-Id", required = false) Long userId,
+            @RequestBody @Valid BatchRequestDto batchDto) {
+
+        log.info("Executing batch of {} requests, userId={}", batchDto.getRequests().size(), userId);
+        return ResponseEntity.ok(dispatcher.dispatch(batchDto, userId));
+    }
+}
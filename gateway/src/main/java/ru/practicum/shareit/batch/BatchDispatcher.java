@@ -0,0 +1,204 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import ru.practicum.shareit.batch.dto.BatchPartRequestDto;
+import ru.practicum.shareit.batch.dto.BatchPartResponseDto;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.exception.BatchRouteNotFoundException;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.handler.GlobalExceptionHandler;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Выполняет части пакетного запроса параллельно. Каждая часть передается в тот же контроллер шлюза,
+ * что и обычный запрос, поэтому проходит те же правила валидации и те же клиенты с их ограничениями.
+ * Ошибки частей преобразуются обработчиками GlobalExceptionHandler и возвращаются как статус части.
+ */
+@Service
+@Slf4j
+public class BatchDispatcher {
+
+    private final List<BatchRoute> routes = new ArrayList<>();
+    private final ThreadPoolTaskExecutor batchExecutor;
+    private final ObjectMapper objectMapper;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ExceptionHandlerMethodResolver exceptionResolver =
+            new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+
+    public BatchDispatcher(UserController userController,
+                           ItemController itemController,
+                           BookingController bookingController,
+                           ItemRequestController requestController,
+                           ThreadPoolTaskExecutor batchExecutor,
+                           ObjectMapper objectMapper,
+                           GlobalExceptionHandler exceptionHandler) {
+        this.batchExecutor = batchExecutor;
+        this.objectMapper = objectMapper;
+        this.exceptionHandler = exceptionHandler;
+
+        route(HttpMethod.POST, "/users", call -> userController.addUser(call.body(UserDto.class)));
+        route(HttpMethod.GET, "/users", call -> userController.getUsers(
+                call.queryLong("afterId", 0), call.queryInt("size", 100)));
+        route(HttpMethod.GET, "/users/{id}", call -> userController.getUser(call.pathLong("id")));
+        route(HttpMethod.PATCH, "/users/{id}", call ->
+                userController.updateUser(call.body(UserDto.class), call.pathLong("id")));
+        route(HttpMethod.DELETE, "/users/{id}", call -> {
+            userController.deleteUser(call.pathLong("id"));
+            return ResponseEntity.ok().build();
+        });
+
+        route(HttpMethod.POST, "/items", call -> itemController.addItem(call.userId(), call.body(ItemDto.class)));
+        route(HttpMethod.POST, "/items/{itemId}/comment", call -> itemController.addComment(
+                call.userId(), call.pathLong("itemId"), call.body(CommentDto.class)));
+        route(HttpMethod.GET, "/items", call -> itemController.getOwnerItems(
+                call.userId(), call.queryInt("from", 0), call.queryInt("size", 10)));
+        route(HttpMethod.GET, "/items/search", call -> itemController.searchAvailableItems(
+                call.userId(), call.requiredQuery("text"), call.queryInt("from", 0), call.queryInt("size", 10)));
+        route(HttpMethod.GET, "/items/{id}", call -> itemController.getItem(call.userId(), call.pathLong("id"), null));
+        route(HttpMethod.PATCH, "/items/{itemId}", call -> itemController.updateItem(
+                call.userId(), call.pathLong("itemId"), call.body(ItemDto.class)));
+
+        route(HttpMethod.POST, "/bookings", call ->
+                bookingController.addBooking(call.userId(), call.body(BookItemRequestDto.class)));
+        route(HttpMethod.GET, "/bookings", call -> bookingController.getBookingsByBookerAndStatus(
+                call.userId(), call.query("state", "all"), call.queryInt("from", 0), call.queryInt("size", 10), null));
+        route(HttpMethod.GET, "/bookings/owner", call -> bookingController.getBookingsByOwnerAndStatus(
+                call.userId(), call.query("state", "all"), call.queryInt("from", 0), call.queryInt("size", 10),
+                null));
+        route(HttpMethod.GET, "/bookings/{bookingId}", call ->
+                bookingController.getBooking(call.userId(), call.pathLong("bookingId")));
+        route(HttpMethod.PATCH, "/bookings/{bookingId}", call -> bookingController.setBookingApproval(
+                call.userId(), call.pathLong("bookingId"), call.requiredQueryBoolean("approved")));
+
+        route(HttpMethod.POST, "/requests", call ->
+                requestController.addItemRequest(call.userId(), call.body(ItemRequestDto.class)));
+        route(HttpMethod.GET, "/requests", call -> requestController.getOwnItemRequests(call.userId(), null));
+        route(HttpMethod.GET, "/requests/all", call -> requestController.getOtherUsersRequests(
+                call.userId(), call.queryInt("from", 0), call.queryInt("size", 10)));
+        route(HttpMethod.GET, "/requests/feed", call -> requestController.getRequestFeed(
+                call.userId(), call.query("cursor", null), call.queryInt("size", 10)));
+        route(HttpMethod.GET, "/requests/summary", call -> requestController.getOwnRequestSummaries(
+                call.userId(), call.query("cursor", null), call.queryInt("size", 10)));
+        route(HttpMethod.GET, "/requests/{requestId}/matches", call ->
+                requestController.getMatchingItems(call.userId(), call.pathLong("requestId")));
+        route(HttpMethod.GET, "/requests/{requestId}", call ->
+                requestController.getItemRequest(call.userId(), call.pathLong("requestId")));
+    }
+
+    public BatchResponseDto dispatch(BatchRequestDto batchDto, Long defaultUserId) {
+        List<CompletableFuture<BatchPartResponseDto>> futures = batchDto.getRequests().stream()
+                .map(part -> CompletableFuture.supplyAsync(() -> execute(part, defaultUserId), batchExecutor))
+                .collect(Collectors.toList());
+
+        return new BatchResponseDto(futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList()));
+    }
+
+    private BatchPartResponseDto execute(BatchPartRequestDto part, Long defaultUserId) {
+        ResponseEntity<?> response;
+
+        try {
+            response = resolve(part, defaultUserId);
+
+        } catch (Exception e) {
+            response = handleException(e instanceof CompletionException && e.getCause() != null
+                    ? (Exception) e.getCause() : e);
+        }
+        return new BatchPartResponseDto(part.getId(), response.getStatusCodeValue(), readBody(response.getBody()));
+    }
+
+    private ResponseEntity<?> resolve(BatchPartRequestDto part, Long defaultUserId) {
+        HttpMethod method = HttpMethod.resolve(part.getMethod().toUpperCase());
+        UriComponents uri = UriComponentsBuilder.fromUriString(part.getPath()).build();
+        String path = uri.getPath();
+        Long userId = part.getUserId() != null ? part.getUserId() : defaultUserId;
+
+        for (BatchRoute route : routes) {
+            if (route.method == method && route.template.matches(path)) {
+                Map<String, String> pathVariables = route.template.match(path);
+                return route.handler.apply(new BatchCall(
+                        pathVariables, uri.getQueryParams(), userId, part.getBody(), objectMapper));
+            }
+        }
+
+        throw new BatchRouteNotFoundException(String.format(
+                "Пакетный запрос не поддерживает %s %s.", part.getMethod(), part.getPath()));
+    }
+
+    private ResponseEntity<?> handleException(Exception e) {
+        Method handlerMethod = exceptionResolver.resolveMethod(e);
+
+        if (handlerMethod == null) {
+            log.error("Ошибка при выполнении части пакетного запроса", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        ReflectionUtils.makeAccessible(handlerMethod);
+        return (ResponseEntity<?>) ReflectionUtils.invokeMethod(handlerMethod, exceptionHandler, e);
+    }
+
+    private Object readBody(Object body) {
+        if (!(body instanceof byte[])) {
+            return body;
+        }
+
+        byte[] bytes = (byte[]) body;
+        if (bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readTree(bytes);
+
+        } catch (IOException e) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void route(HttpMethod method, String template, Function<BatchCall, ResponseEntity<?>> handler) {
+        routes.add(new BatchRoute(method, new UriTemplate(template), handler));
+    }
+
+    private static class BatchRoute {
+        private final HttpMethod method;
+        private final UriTemplate template;
+        private final Function<BatchCall, ResponseEntity<?>> handler;
+
+        BatchRoute(HttpMethod method, UriTemplate template, Function<BatchCall, ResponseEntity<?>> handler) {
+            this.method = method;
+            this.template = template;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BatchExecutorConfig {
+
+    /**
+     * Отдельный ограниченный пул для параллельной отправки частей пакетного запроса.
+     * При заполнении очереди часть выполняется в вызывающем потоке, что естественно ограничивает нагрузку.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchExecutor(@Value("${shareit-gateway.batch.threads:16}") int threads,
+                                                @Value("${shareit-gateway.batch.queue:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
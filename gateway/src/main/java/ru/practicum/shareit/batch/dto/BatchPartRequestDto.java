@@ -0,0 +1,21 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchPartRequestDto {
+    private String id;
+    @NotBlank(message = "HTTP-метод части пакетного запроса не может быть пустым.")
+    private String method;
+    @NotBlank(message = "Путь части пакетного запроса не может быть пустым.")
+    private String path;
+    private Long userId;
+    private JsonNode body;
+}
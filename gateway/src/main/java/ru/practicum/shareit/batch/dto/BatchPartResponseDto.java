@@ -0,0 +1,12 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchPartResponseDto {
+    private final String id;
+    private final int status;
+    private final Object body;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequestDto {
+    @NotEmpty(message = "Пакетный запрос должен содержать хотя бы одну часть.")
+    @Size(max = 20, message = "Пакетный запрос не может содержать больше 20 частей.")
+    private List<@Valid BatchPartRequestDto> requests;
+}
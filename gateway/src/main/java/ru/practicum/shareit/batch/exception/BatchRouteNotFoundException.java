@@ -0,0 +1,7 @@
+package ru.practicum.shareit.batch.exception;
+
+public class BatchRouteNotFoundException extends RuntimeException {
+    public BatchRouteNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.resilience.ResilienceRegistry;
 
 import java.util.Map;
 
@@ -18,12 +20,17 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ResilienceRegistry resilience, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .setConnectTimeout(resilience.getProperties().getConnectTimeout())
+                        .setReadTimeout(resilience.getProperties().getReadTimeout())
+                        .build(),
+                resilience.forGroup(API_PREFIX),
+                responseCache
         );
     }
 
@@ -35,22 +42,24 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBookerAndStatus(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsByBookerAndStatus(long userId, BookingState state, Integer from, Integer size,
+                                                               String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getBookingsByOwnerAndStatus(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsByOwnerAndStatus(long userId, BookingState state, Integer from, Integer size,
+                                                              String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
     public ResponseEntity<Object> setApproval(long userId, long bookingId, boolean approved) {
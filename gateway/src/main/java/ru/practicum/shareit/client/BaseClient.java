@@ -1,5 +1,8 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -9,14 +12,22 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.exception.ClientDisconnectedException;
+import ru.practicum.shareit.client.resilience.EndpointGroupGuard;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final EndpointGroupGuard guard;
+    private final ResponseCache cache;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, EndpointGroupGuard guard, ResponseCache cache) {
         this.rest = rest;
+        this.guard = guard;
+        this.cache = cache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +39,73 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return get(path, userId, parameters, null);
+    }
+
+    /**
+     * Условный GET: заголовок If-None-Match передается серверу, а ответ 304 возвращается клиенту вместе с ETag.
+     */
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                         @Nullable String ifNoneMatch) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch);
+    }
+
+    /**
+     * GET с кэшированием ответа на шлюзе. Ключ включает пользователя, так как содержимое ответа от него зависит.
+     * Кэшируются только ответы, помеченные сервером заголовком X-Cache-Tags.
+     */
+    protected ResponseEntity<Object> cachedGet(String path, long userId, Map<String, Object> parameters) {
+        if (!cache.isEnabled()) {
+            return get(path, userId, parameters);
+        }
+        String key = userId + " " + rest.getUriTemplateHandler().expand(path, parameters);
+
+        ResponseEntity<Object> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cache.getPurgeGeneration();
+        ResponseEntity<Object> response = sendRequest(HttpMethod.GET, path, userId, parameters, null, null);
+        cache.put(key, response, generation);
+        return withoutCacheHeaders(response);
+    }
+
+    /**
+     * Потоковый GET: тело ответа сервера копируется в out по мере получения, без разбора и накопления в памяти.
+     * Разрешение отдельного потокового bulkhead удерживается до окончания передачи. Ошибки чтения ответа
+     * сервера RestTemplate оборачивает в ResourceAccessException, а ошибки записи в out (клиент закрыл
+     * соединение) отделяются от них, чтобы не размыкать цепь, и возвращаются вызывающему как IOException.
+     */
+    protected void stream(String path, MediaType mediaType, OutputStream out) throws IOException {
+        try {
+            guard.executeStream(() -> rest.execute(path, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(mediaType)),
+                    response -> {
+                        copy(response.getBody(), out);
+                        return ResponseEntity.ok().build();
+                    }));
+        } catch (ClientDisconnectedException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+
+        while ((read = in.read(buffer)) != -1) {
+            try {
+                out.write(buffer, 0, read);
+            } catch (IOException e) {
+                throw new ClientDisconnectedException(e);
+            }
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new ClientDisconnectedException(e);
+        }
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -40,7 +117,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -48,7 +125,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -64,7 +141,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -76,11 +153,19 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        return withoutCacheHeaders(sendRequest(method, path, userId, parameters, body, ifNoneMatch));
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        return guard.execute(method, () -> exchange(method, path, userId, parameters, body, ifNoneMatch));
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, ifNoneMatch));
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -92,30 +177,75 @@ public class BaseClient {
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
+        if (method != HttpMethod.GET && shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+            cache.purge(shareitServerResponse.getHeaders());
+        }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, @Nullable String ifNoneMatch) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
         return headers;
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            return withJsonContentType(response);
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
 
+        if (response.getHeaders().getETag() != null) {
+            responseBuilder.eTag(response.getHeaders().getETag());
+        }
+
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
         }
 
         return responseBuilder.build();
     }
+
+    /**
+     * Заголовки X-Cache-Tags и X-Cache-Purge адресованы кэшу шлюза и внешнему клиенту не передаются.
+     */
+    private static ResponseEntity<Object> withoutCacheHeaders(ResponseEntity<Object> response) {
+        HttpHeaders serverHeaders = response.getHeaders();
+
+        if (!serverHeaders.containsKey(ResponseCache.TAGS_HEADER)
+                && !serverHeaders.containsKey(ResponseCache.PURGE_HEADER)) {
+            return response;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(serverHeaders);
+        headers.remove(ResponseCache.TAGS_HEADER);
+        headers.remove(ResponseCache.PURGE_HEADER);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    /**
+     * Ответ сервера мог прийти в бинарном формате, а клиенту шлюза тело всегда отдается в JSON.
+     */
+    private static ResponseEntity<Object> withJsonContentType(ResponseEntity<Object> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+
+        if (!response.hasBody() || contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return response;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
 }
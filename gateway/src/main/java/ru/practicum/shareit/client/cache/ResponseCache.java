@@ -0,0 +1,241 @@
+package ru.practicum.shareit.client.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Кэш ответов сервера на чтение. Сервер сам решает, что можно кэшировать: в кэш попадают только успешные
+ * ответы с заголовком X-Cache-Tags. Ответы на изменяющие запросы несут заголовок X-Cache-Purge,
+ * по которому удаляются все записи с указанными тегами.
+ * Объем кэша ограничен суммарным размером тел ответов, при переполнении вытесняются давно не использованные записи.
+ * Сброс по заголовку виден только тому экземпляру шлюза, через который прошло изменение,
+ * поэтому время жизни записей должно оставаться коротким.
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    public static final String TAGS_HEADER = "X-Cache-Tags";
+    public static final String PURGE_HEADER = "X-Cache-Purge";
+    public static final String STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private long totalBytes;
+    private long purgeGeneration;
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                  Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.hits = meterRegistry.counter("shareit.gateway.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("shareit.gateway.cache.requests", "result", "miss");
+        Gauge.builder("shareit.gateway.cache.bytes", this, ResponseCache::getTotalBytes).register(meterRegistry);
+        Gauge.builder("shareit.gateway.cache.entries", this, ResponseCache::getEntryCount).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Номер поколения сбросов. Ответ, полученный до очередного сброса, не должен попасть в кэш,
+     * иначе он переживет изменение, которое уже было отражено в базе.
+     */
+    public synchronized long getPurgeGeneration() {
+        return purgeGeneration;
+    }
+
+    @Nullable
+    public synchronized ResponseEntity<Object> get(String key) {
+        Entry entry = entries.get(key);
+
+        if (entry == null || entry.expiresAt < clock.millis()) {
+            if (entry != null) {
+                remove(key);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(STATUS_HEADER, "HIT")
+                .body(entry.body);
+    }
+
+    /**
+     * Сохранение ответа, если сервер пометил его тегами и с момента отправки запроса не было сбросов.
+     */
+    public void put(String key, ResponseEntity<Object> response, long generation) {
+        List<String> tags = parseTags(response.getHeaders().get(TAGS_HEADER));
+        if (response.getStatusCode() != HttpStatus.OK || !response.hasBody() || tags.isEmpty()) {
+            return;
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.getBody());
+
+        } catch (JsonProcessingException e) {
+            log.warn("Не удалось сериализовать ответ для кэша: {}", e.getMessage());
+            return;
+        }
+        if (body.length > properties.getMaxEntrySize().toBytes()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (generation != purgeGeneration) {
+                return;
+            }
+            remove(key);
+
+            Entry entry = new Entry(body, tags, clock.millis() + properties.getTtl().toMillis());
+            entries.put(key, entry);
+            totalBytes += entry.size(key);
+            for (String tag : tags) {
+                keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+            }
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Сброс записей по тегам из заголовка X-Cache-Purge ответа сервера.
+     */
+    public void purge(HttpHeaders headers) {
+        List<String> tags = parseTags(headers.get(PURGE_HEADER));
+
+        if (!tags.isEmpty()) {
+            purge(tags);
+        }
+    }
+
+    public synchronized int purge(Collection<String> tags) {
+        purgeGeneration++;
+        int removed = 0;
+
+        for (String tag : tags) {
+            Set<String> keys = keysByTag.remove(tag);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : new ArrayList<>(keys)) {
+                if (remove(key)) {
+                    removed++;
+                }
+            }
+        }
+        log.debug("Сброшено {} записей кэша по тегам {}", removed, tags);
+        return removed;
+    }
+
+    public synchronized void clear() {
+        purgeGeneration++;
+        entries.clear();
+        keysByTag.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        long maxBytes = properties.getMaxSize().toBytes();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            eldest.remove();
+            forget(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private boolean remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        forget(key, entry);
+        return true;
+    }
+
+    private void forget(String key, Entry entry) {
+        totalBytes -= entry.size(key);
+        for (String tag : entry.tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    private static List<String> parseTags(@Nullable List<String> headerValues) {
+        if (headerValues == null) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+
+        for (String value : headerValues) {
+            for (String tag : value.split(",")) {
+                String trimmed = tag.trim();
+                if (!trimmed.isEmpty()) {
+                    tags.add(trimmed);
+                }
+            }
+        }
+        return tags;
+    }
+
+    private static class Entry {
+        private final byte[] body;
+        private final List<String> tags;
+        private final long expiresAt;
+
+        private Entry(byte[] body, List<String> tags, long expiresAt) {
+            this.body = body;
+            this.tags = tags;
+            this.expiresAt = expiresAt;
+        }
+
+        private long size(String key) {
+            return body.length + 2L * key.length();
+        }
+    }
+}
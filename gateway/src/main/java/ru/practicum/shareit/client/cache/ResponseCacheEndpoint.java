@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator-эндпоинт для просмотра состояния кэша ответов и сброса записей по тегу,
+ * например при изменениях, прошедших через другой экземпляр шлюза.
+ */
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache cache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", cache.isEnabled(),
+                "entries", cache.getEntryCount(),
+                "bytes", cache.getTotalBytes());
+    }
+
+    @WriteOperation
+    public Map<String, Object> purge(@Selector String tag) {
+        return Map.of("purged", cache.purge(List.of(tag)));
+    }
+
+    @DeleteOperation
+    public void clear() {
+        cache.clear();
+    }
+}
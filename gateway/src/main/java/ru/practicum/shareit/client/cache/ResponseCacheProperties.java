@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов сервера: время жизни записи, суммарный объем тел ответов
+ * и максимальный размер одного кэшируемого ответа.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(5);
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+}
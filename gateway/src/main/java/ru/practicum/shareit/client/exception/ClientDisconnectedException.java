@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client.exception;
+
+import java.io.IOException;
+
+/**
+ * Ошибка записи ответа клиенту шлюза (обычно клиент закрыл соединение). Сервер при этом ответил,
+ * поэтому такая ошибка не считается отказом сервера в размыкателе цепи.
+ */
+public class ClientDisconnectedException extends RuntimeException {
+    public ClientDisconnectedException(IOException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+        return (IOException) super.getCause();
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.client.exception;
+
+public class ServerUnavailableException extends RuntimeException {
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничитель числа одновременных обращений к серверу. Если свободного разрешения нет в течение
+ * acquireTimeout, вызов отклоняется, а поток шлюза не блокируется на ожидании ответа сервера.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxPermits;
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public Bulkhead(String name, int maxPermits, Duration acquireTimeout) {
+        this.name = name;
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActiveCalls() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
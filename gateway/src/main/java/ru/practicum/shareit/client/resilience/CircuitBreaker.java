@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Размыкатель цепи для группы эндпоинтов сервера. После failureThreshold неудачных вызовов подряд
+ * цепь размыкается на openDuration, и все вызовы сразу отклоняются. По истечении этого времени пропускается
+ * один пробный вызов: при успехе цепь замыкается, при неудаче снова размыкается.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Clock clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    public boolean allowRequest() {
+        State current = state.get();
+
+        if (current == State.CLOSED) {
+            return true;
+
+        } else if (current == State.OPEN && clock.millis() - openedAt >= openDurationMillis) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+
+        } else return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Цепь {} замкнута: сервер снова отвечает.", name);
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = clock.millis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Цепь {} разомкнута на {} мс после неудачных обращений к серверу.", name, openDurationMillis);
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client.resilience;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.exception.ClientDisconnectedException;
+import ru.practicum.shareit.client.exception.ServerUnavailableException;
+
+import java.util.function.Supplier;
+
+/**
+ * Защита вызовов одной группы эндпоинтов сервера (например, /bookings).
+ * Чтение и запись получают отдельные bulkhead-ы, поэтому поток записей не может занять все разрешения
+ * и оставить без них запросы на чтение. Потоковые выгрузки держат разрешение на все время передачи,
+ * поэтому ограничиваются своим, небольшим bulkhead-ом и не занимают разрешения обычного чтения.
+ * Размыкатель цепи общий для группы.
+ * Ошибки соединения и таймауты чтения (ResourceAccessException) превращаются в ServerUnavailableException,
+ * чтобы клиент шлюза получил 503, а не 500. Любое другое исключение вызова тоже считается неудачей,
+ * чтобы пробный вызов полуоткрытой цепи всегда завершался и цепь не оставалась полуоткрытой навсегда.
+ * Обрыв соединения клиентом шлюза (ClientDisconnectedException) - не отказ сервера.
+ */
+public class EndpointGroupGuard {
+
+    private final String group;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead streamBulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public EndpointGroupGuard(String group, Bulkhead readBulkhead, Bulkhead writeBulkhead,
+                              Bulkhead streamBulkhead, CircuitBreaker circuitBreaker) {
+        this.group = group;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+        this.streamBulkhead = streamBulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public ResponseEntity<Object> execute(HttpMethod method, Supplier<ResponseEntity<Object>> call) {
+        return execute(method == HttpMethod.GET ? readBulkhead : writeBulkhead, call);
+    }
+
+    public ResponseEntity<Object> executeStream(Supplier<ResponseEntity<Object>> call) {
+        return execute(streamBulkhead, call);
+    }
+
+    private ResponseEntity<Object> execute(Bulkhead bulkhead, Supplier<ResponseEntity<Object>> call) {
+        if (!bulkhead.tryAcquire()) {
+            throw new ServerUnavailableException(String.format(
+                    "Превышен лимит одновременных запросов к группе %s (%s).", group, bulkhead.getName()));
+        }
+
+        try {
+            if (!circuitBreaker.allowRequest()) {
+                throw new ServerUnavailableException(String.format(
+                        "Сервер временно недоступен для группы %s: цепь разомкнута.", group));
+            }
+
+            ResponseEntity<Object> response;
+            try {
+                response = call.get();
+
+            } catch (ResourceAccessException e) {
+                circuitBreaker.onFailure();
+                throw new ServerUnavailableException(String.format(
+                        "Сервер недоступен для группы %s: %s", group, e.getMessage()));
+
+            } catch (ClientDisconnectedException e) {
+                circuitBreaker.onSuccess();
+                throw e;
+
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public Bulkhead getReadBulkhead() {
+        return readBulkhead;
+    }
+
+    public Bulkhead getWriteBulkhead() {
+        return writeBulkhead;
+    }
+
+    public Bulkhead getStreamBulkhead() {
+        return streamBulkhead;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
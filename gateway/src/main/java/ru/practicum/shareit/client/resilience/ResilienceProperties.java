@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки защиты вызовов сервера: лимиты одновременных запросов (bulkhead) для каждой группы эндпоинтов,
+ * параметры размыкателя цепи (circuit breaker) и таймауты HTTP-клиента.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private int readPermits = 50;
+    private int writePermits = 20;
+    private int streamPermits = 4;
+    private Duration acquireTimeout = Duration.ofMillis(50);
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Хранилище защитников вызовов по группам эндпоинтов. Состояние цепей и число занятых разрешений
+ * публикуются в actuator.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilienceRegistry {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointGroupGuard> guards = new ConcurrentHashMap<>();
+
+    public EndpointGroupGuard forGroup(String group) {
+        return guards.computeIfAbsent(group, this::createGuard);
+    }
+
+    public ResilienceProperties getProperties() {
+        return properties;
+    }
+
+    private EndpointGroupGuard createGuard(String group) {
+        EndpointGroupGuard guard = new EndpointGroupGuard(
+                group,
+                new Bulkhead("read", properties.getReadPermits(), properties.getAcquireTimeout()),
+                new Bulkhead("write", properties.getWritePermits(), properties.getAcquireTimeout()),
+                new Bulkhead("stream", properties.getStreamPermits(), properties.getAcquireTimeout()),
+                new CircuitBreaker(group, properties.getFailureThreshold(), properties.getOpenDuration(),
+                        Clock.systemUTC()));
+
+        Gauge.builder("shareit.gateway.bulkhead.active", guard, g -> g.getReadBulkhead().getActiveCalls())
+                .tags("group", group, "kind", "read")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.bulkhead.active", guard, g -> g.getWriteBulkhead().getActiveCalls())
+                .tags("group", group, "kind", "write")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.bulkhead.active", guard, g -> g.getStreamBulkhead().getActiveCalls())
+                .tags("group", group, "kind", "stream")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.circuit.state", guard, g -> g.getCircuitBreaker().getState().ordinal())
+                .tags("group", group)
+                .register(meterRegistry);
+        return guard;
+    }
+}
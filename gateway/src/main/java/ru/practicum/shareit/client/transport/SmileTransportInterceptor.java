@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Запрашивает у сервера ответы в формате Smile (с JSON в качестве запасного варианта) вместо JSON.
+ * Запросы, ожидающие другой формат (например, потоковый NDJSON), не изменяются.
+ * Успешные ответы разбираются Smile-конвертером RestTemplate, а тела ошибок шлюз передает клиенту как есть,
+ * поэтому они сразу перекодируются в JSON.
+ */
+public class SmileTransportInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> ACCEPT = List.of(
+            APPLICATION_SMILE,
+            MediaType.parseMediaType("application/json;q=0.9"));
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper;
+
+    public SmileTransportInterceptor(ObjectMapper smileMapper, ObjectMapper jsonMapper) {
+        this.smileMapper = smileMapper;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (List.of(MediaType.APPLICATION_JSON).equals(request.getHeaders().getAccept())) {
+            request.getHeaders().setAccept(ACCEPT);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+
+        if (response.getStatusCode().isError()
+                && APPLICATION_SMILE.isCompatibleWith(response.getHeaders().getContentType())) {
+            return new JsonErrorResponse(response, toJson(response));
+        }
+        return response;
+    }
+
+    private byte[] toJson(ClientHttpResponse response) throws IOException {
+        byte[] smileBody = StreamUtils.copyToByteArray(response.getBody());
+
+        if (smileBody.length == 0) {
+            return smileBody;
+        }
+        return jsonMapper.writeValueAsBytes(smileMapper.readTree(smileBody));
+    }
+
+    private static class JsonErrorResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final byte[] body;
+        private final HttpHeaders headers;
+
+        private JsonErrorResponse(ClientHttpResponse delegate, byte[] body) {
+            this.delegate = delegate;
+            this.body = body;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+            this.headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return delegate.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Настройка формата обмена с сервером. Сжатие gzip согласуется HTTP-клиентом автоматически
+ * (Accept-Encoding и распаковка ответа), здесь подключается бинарный формат Smile.
+ * Smile-конвертер нужен только клиентам сервера: из конвертеров контроллеров шлюза он убирается,
+ * чтобы внешние клиенты всегда получали JSON.
+ */
+@Configuration
+public class TransportConfig implements WebMvcConfigurer {
+
+    /**
+     * Конвертер строится из настроенного Spring Boot билдера, чтобы формат дат совпадал с JSON.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public RestTemplateCustomizer smileTransportCustomizer(TransportProperties properties,
+                                                           MappingJackson2SmileHttpMessageConverter smileConverter,
+                                                           ObjectMapper objectMapper) {
+        return restTemplate -> {
+            if (properties.isBinary()) {
+                restTemplate.getInterceptors().add(
+                        new SmileTransportInterceptor(smileConverter.getObjectMapper(), objectMapper));
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+    }
+}
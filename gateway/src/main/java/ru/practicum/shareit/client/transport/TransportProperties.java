@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client.transport;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки обмена с сервером. При включенном binary шлюз запрашивает ответы сервера в формате Smile,
+ * внешние клиенты шлюза в любом случае получают JSON.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-server.transport")
+public class TransportProperties {
+    private boolean binary = false;
+}
@@ -8,6 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import ru.practicum.shareit.batch.exception.BatchRouteNotFoundException;
+import ru.practicum.shareit.client.exception.ServerUnavailableException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -42,6 +44,34 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler({
+            BatchRouteNotFoundException.class
+    })
+    ResponseEntity<ErrorResponse> handleNotFoundExceptions(final RuntimeException e) {
+        String exceptionName = e.getClass().getName();
+        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
+        log.debug(e.getMessage());
+
+        return new ResponseEntity<>(
+                new ErrorResponse(exceptionName, e.getMessage()),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
+    @ExceptionHandler({
+            ServerUnavailableException.class
+    })
+    ResponseEntity<ErrorResponse> handleServiceUnavailableExceptions(final RuntimeException e) {
+        String exceptionName = e.getClass().getName();
+        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
+        log.warn(e.getMessage());
+
+        return new ResponseEntity<>(
+                new ErrorResponse(exceptionName, e.getMessage()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
     @Getter
     @AllArgsConstructor
     static class ErrorResponse {
@@ -8,6 +8,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.resilience.ResilienceRegistry;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -19,12 +21,17 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ResilienceRegistry resilience, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .setConnectTimeout(resilience.getProperties().getConnectTimeout())
+                        .setReadTimeout(resilience.getProperties().getReadTimeout())
+                        .build(),
+                resilience.forGroup(API_PREFIX),
+                responseCache
         );
     }
 
@@ -38,8 +45,8 @@ public class ItemClient extends BaseClient {
         return post("/" + itemId + "/comment", authorId, commentDto);
     }
 
-    public ResponseEntity<Object> getItem(long requesterId, long id) {
-        return get("/" + id, requesterId);
+    public ResponseEntity<Object> getItem(long requesterId, long id, String ifNoneMatch) {
+        return get("/" + id, requesterId, null, ifNoneMatch);
     }
 
     public ResponseEntity<Object> getOwnerItems(long ownerId, int from, int size) {
@@ -59,7 +66,7 @@ public class ItemClient extends BaseClient {
                 "size", size
         );
 
-        return get("/search?text={text}&from={from}&size={size}", ownerId, parameters);
+        return cachedGet("/search?text={text}&from={from}&size={size}", ownerId, parameters);
     }
 
     public ResponseEntity<Object> updateItem(long ownerId, long itemId, ItemDto itemDto) {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -41,10 +42,12 @@ public class ItemController {
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<Object> getItem(@RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
-                                          @PathVariable Long id) {
+                                          @PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                          String ifNoneMatch) {
 
         log.info("Get item, requesterId={}, itemId={}", requesterId, id);
-        return itemClient.getItem(requesterId, id);
+        return itemClient.getItem(requesterId, id, ifNoneMatch);
     }
 
     @GetMapping
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -29,6 +31,26 @@ public class ItemRequestController {
         return requestClient.addItemRequest(requesterId, requestDto);
     }
 
+    @GetMapping(path = "/feed")
+    public ResponseEntity<Object> getRequestFeed(
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size) {
+
+        log.info("Get itemRequests feed, requesterId={}, cursor={}, size={}", requesterId, cursor, size);
+        return requestClient.getRequestFeed(requesterId, cursor, size);
+    }
+
+    @GetMapping(path = "/summary")
+    public ResponseEntity<Object> getOwnRequestSummaries(
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size) {
+
+        log.info("Get user's itemRequests summary, requesterId={}, cursor={}, size={}", requesterId, cursor, size);
+        return requestClient.getOwnRequestSummaries(requesterId, cursor, size);
+    }
+
     @GetMapping(path = "/{requestId}")
     public ResponseEntity<Object> getItemRequest(@RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
                                                  @PathVariable Long requestId) {
@@ -37,12 +59,21 @@ public class ItemRequestController {
         return requestClient.getItemRequest(requesterId, requestId);
     }
 
+    @GetMapping(path = "/{requestId}/matches")
+    public ResponseEntity<Object> getMatchingItems(@RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+                                                   @PathVariable Long requestId) {
+
+        log.info("Get items matching itemRequest, requesterId={}, requestId={}", requesterId, requestId);
+        return requestClient.getMatchingItems(requesterId, requestId);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getOwnItemRequests(
-            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId) {
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Get user's itemRequests, requesterId={}", requesterId);
-        return requestClient.getOwnItemRequests(requesterId);
+        return requestClient.getOwnItemRequests(requesterId, ifNoneMatch);
     }
 
     @GetMapping(path = "/all")
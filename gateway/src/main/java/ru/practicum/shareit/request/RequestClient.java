@@ -8,8 +8,11 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.resilience.ResilienceRegistry;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,12 +21,17 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ResilienceRegistry resilience, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .setConnectTimeout(resilience.getProperties().getConnectTimeout())
+                        .setReadTimeout(resilience.getProperties().getReadTimeout())
+                        .build(),
+                resilience.forGroup(API_PREFIX),
+                responseCache
         );
     }
 
@@ -35,9 +43,24 @@ public class RequestClient extends BaseClient {
         return get("/" + requestId, requesterId);
     }
 
-    public ResponseEntity<Object> getOwnItemRequests(long requesterId) {
+    public ResponseEntity<Object> getMatchingItems(long requesterId, long requestId) {
+        return get("/" + requestId + "/matches", requesterId);
+    }
+
+    public ResponseEntity<Object> getOwnItemRequests(long requesterId, String ifNoneMatch) {
+
+        return get("", requesterId, null, ifNoneMatch);
+    }
 
-        return get("", requesterId);
+    public ResponseEntity<Object> getOwnRequestSummaries(long requesterId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+
+        if (cursor == null) {
+            return cachedGet("/summary?size={size}", requesterId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return cachedGet("/summary?cursor={cursor}&size={size}", requesterId, parameters);
     }
 
     public ResponseEntity<Object> getOtherUsersRequests(long requesterId, Integer from, Integer size) {
@@ -46,6 +69,17 @@ public class RequestClient extends BaseClient {
                 "size", size
         );
 
-        return get("/all?from={from}&size={size}", requesterId, parameters);
+        return cachedGet("/all?from={from}&size={size}", requesterId, parameters);
+    }
+
+    public ResponseEntity<Object> getRequestFeed(long requesterId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+
+        if (cursor == null) {
+            return cachedGet("/feed?size={size}", requesterId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return cachedGet("/feed?cursor={cursor}&size={size}", requesterId, parameters);
     }
 }
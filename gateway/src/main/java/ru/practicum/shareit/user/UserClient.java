@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
@@ -10,9 +11,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.resilience.ResilienceRegistry;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
 
 @Service
 public class UserClient extends BaseClient {
@@ -20,12 +26,17 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ResilienceRegistry resilience, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .setConnectTimeout(resilience.getProperties().getConnectTimeout())
+                        .setReadTimeout(resilience.getProperties().getReadTimeout())
+                        .build(),
+                resilience.forGroup(API_PREFIX),
+                responseCache
         );
     }
 
@@ -39,8 +50,17 @@ public class UserClient extends BaseClient {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public ResponseEntity<Object> getUsers(long afterId, int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+
+        return get("?afterId={afterId}&size={size}", null, parameters);
+    }
+
+    public void streamUsers(OutputStream out) throws IOException {
+        stream("/stream", MediaType.APPLICATION_NDJSON, out);
     }
 
     public ResponseEntity<Object> updateUser(@RequestBody @Valid UserDto userDto, @PathVariable long id) {
@@ -3,13 +3,18 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -36,10 +41,21 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public ResponseEntity<Object> getUsers(
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long afterId,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer size) {
 
-        log.info("Get users");
-        return userClient.getUsers();
+        log.info("Get users, afterId={}, size={}", afterId, size);
+        return userClient.getUsers(afterId, size);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+
+        log.info("Stream users");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userClient::streamUsers);
     }
 
     @PatchMapping(path = "/{id}")
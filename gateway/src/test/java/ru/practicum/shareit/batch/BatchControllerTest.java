@@ -0,0 +1,168 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BatchControllerTest {
+
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    public BatchControllerTest(MockMvc mvc, ObjectMapper mapper) {
+        this.mvc = mvc;
+        this.mapper = mapper;
+    }
+
+    @Test
+    public void shouldReturnStatusOfEachPartInMixedBatch() throws Exception {
+        when(userClient.getUser(1L)).thenReturn(ResponseEntity.ok(Map.of("id", 1, "name", "Tom")));
+        when(userClient.getUser(2L)).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("errorName", "UserNotFoundException")));
+
+        JsonNode responses = performBatch(null, List.of(
+                part("found", "GET", "/users/1", null, null),
+                part("missing", "GET", "/users/2", null, null),
+                part("invalid", "POST", "/users", null, Map.of("name", "Tom", "email", "not-an-email")),
+                part("noUser", "GET", "/items/1", null, null)
+        ));
+
+        assertEquals(4, responses.size());
+        assertPart(responses.get(0), "found", 200);
+        assertEquals("Tom", responses.get(0).get("body").get("name").asText());
+        assertPart(responses.get(1), "missing", 404);
+        assertEquals("UserNotFoundException", responses.get(1).get("body").get("errorName").asText());
+        assertPart(responses.get(2), "invalid", 400);
+        assertPart(responses.get(3), "noUser", 400);
+        verify(userClient, never()).addUser(any(UserDto.class));
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    public void shouldUsePartUserIdBeforeBatchUserId() throws Exception {
+        when(itemClient.getItem(eq(5L), eq(7L), any())).thenReturn(ResponseEntity.ok(Map.of("id", 7)));
+        when(itemClient.getItem(eq(3L), eq(7L), any())).thenReturn(ResponseEntity.ok(Map.of("id", 7)));
+
+        JsonNode responses = performBatch(3L, List.of(
+                part("own", "GET", "/items/7", 5L, null),
+                part("default", "GET", "/items/7", null, null)
+        ));
+
+        assertPart(responses.get(0), "own", 200);
+        assertPart(responses.get(1), "default", 200);
+        verify(itemClient).getItem(eq(5L), eq(7L), any());
+        verify(itemClient).getItem(eq(3L), eq(7L), any());
+    }
+
+    @Test
+    public void shouldListUsersWithDefaultPageSizeWhenSizeIsOmitted() throws Exception {
+        when(userClient.getUsers(0L, 100)).thenReturn(ResponseEntity.ok(List.of()));
+        when(userClient.getUsers(5L, 20)).thenReturn(ResponseEntity.ok(List.of()));
+
+        JsonNode responses = performBatch(null, List.of(
+                part("first", "GET", "/users", null, null),
+                part("page", "GET", "/users?afterId=5&size=20", null, null)
+        ));
+
+        assertPart(responses.get(0), "first", 200);
+        assertPart(responses.get(1), "page", 200);
+        verify(userClient).getUsers(0L, 100);
+        verify(userClient).getUsers(5L, 20);
+    }
+
+    @Test
+    public void shouldAnswerNotFoundForUnknownRoute() throws Exception {
+        JsonNode responses = performBatch(1L, List.of(
+                part("unknown", "GET", "/unknown/1", null, null),
+                part("wrongMethod", "PUT", "/users/1", null, Map.of("name", "Tom"))
+        ));
+
+        assertPart(responses.get(0), "unknown", 404);
+        assertEquals("BatchRouteNotFoundException", responses.get(0).get("body").get("errorName").asText());
+        assertPart(responses.get(1), "wrongMethod", 404);
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    public void shouldRejectBatchOverSizeLimit() throws Exception {
+        List<Map<String, Object>> parts = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            parts.add(part(String.valueOf(i), "GET", "/users/1", null, null));
+        }
+
+        assertEquals(400, sendBatch(null, parts).getStatus());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    public void shouldRejectEmptyBatchAndPartsWithoutPath() throws Exception {
+        assertEquals(400, sendBatch(null, List.of()).getStatus());
+        assertEquals(400, sendBatch(null, List.of(part("noPath", "GET", "", null, null))).getStatus());
+    }
+
+    private JsonNode performBatch(Long userId, List<Map<String, Object>> parts) throws Exception {
+        MockHttpServletResponse response = sendBatch(userId, parts);
+
+        assertEquals(200, response.getStatus());
+        return mapper.readTree(response.getContentAsByteArray()).get("responses");
+    }
+
+    private MockHttpServletResponse sendBatch(Long userId, List<Map<String, Object>> parts) throws Exception {
+        var request = post("/batch")
+                .content(mapper.writeValueAsString(Map.of("requests", parts)))
+                .contentType(MediaType.APPLICATION_JSON);
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId);
+        }
+        return mvc.perform(request).andReturn().getResponse();
+    }
+
+    private Map<String, Object> part(String id, String method, String path, Long userId, Object body) {
+        Map<String, Object> part = new HashMap<>();
+        part.put("id", id);
+        part.put("method", method);
+        part.put("path", path);
+        part.put("userId", userId);
+        part.put("body", body);
+        return part;
+    }
+
+    private void assertPart(JsonNode part, String id, int status) {
+        assertEquals(id, part.get("id").asText());
+        assertEquals(status, part.get("status").asInt());
+    }
+}
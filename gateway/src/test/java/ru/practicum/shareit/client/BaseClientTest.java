@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.cache.ResponseCache;
+import ru.practicum.shareit.client.cache.ResponseCacheProperties;
+import ru.practicum.shareit.client.resilience.Bulkhead;
+import ru.practicum.shareit.client.resilience.CircuitBreaker;
+import ru.practicum.shareit.client.resilience.EndpointGroupGuard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+
+    private static final String SEARCH_URL = "http://server/items/search?text=drill";
+    private static final String ITEM_URL = "http://server/items/1";
+    private static final String BODY = "[{\"id\":1}]";
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+
+        EndpointGroupGuard guard = new EndpointGroupGuard("/items",
+                new Bulkhead("read", 1, Duration.ofMillis(10)),
+                new Bulkhead("write", 1, Duration.ofMillis(10)),
+                new Bulkhead("stream", 1, Duration.ofMillis(10)),
+                new CircuitBreaker("/items", 2, Duration.ofSeconds(10), Clock.systemUTC()));
+        ResponseCache cache = new ResponseCache(new ResponseCacheProperties(), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        client = new TestClient(rest, guard, cache);
+    }
+
+    @Test
+    public void shouldKeepCachedResponsesSeparatePerUser() {
+        expectSearch(1);
+        expectSearch(2);
+
+        assertNull(client.search(1).getHeaders().getFirst(ResponseCache.STATUS_HEADER));
+        assertEquals("HIT", client.search(1).getHeaders().getFirst(ResponseCache.STATUS_HEADER));
+        assertNull(client.search(2).getHeaders().getFirst(ResponseCache.STATUS_HEADER));
+        assertEquals("HIT", client.search(2).getHeaders().getFirst(ResponseCache.STATUS_HEADER));
+
+        server.verify();
+    }
+
+    @Test
+    public void shouldNotPassCacheHeadersToClient() {
+        expectSearch(1);
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders(ResponseCache.PURGE_HEADER, "items")));
+        expectSearch(1);
+
+        ResponseEntity<Object> search = client.search(1);
+        ResponseEntity<Object> update = client.update(1);
+        ResponseEntity<Object> searchAfterUpdate = client.search(1);
+
+        for (ResponseEntity<Object> response : List.of(search, update, searchAfterUpdate)) {
+            assertFalse(response.getHeaders().containsKey(ResponseCache.TAGS_HEADER));
+            assertFalse(response.getHeaders().containsKey(ResponseCache.PURGE_HEADER));
+        }
+        assertEquals(MediaType.APPLICATION_JSON, update.getHeaders().getContentType());
+        server.verify();
+    }
+
+    private void expectSearch(long userId) {
+        server.expect(requestTo(SEARCH_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders(ResponseCache.TAGS_HEADER, "items")));
+    }
+
+    private static HttpHeaders cacheHeaders(String name, String tags) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, tags);
+        return headers;
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, EndpointGroupGuard guard, ResponseCache cache) {
+            super(rest, guard, cache);
+        }
+
+        ResponseEntity<Object> search(long userId) {
+            return cachedGet("/search?text={text}", userId, Map.of("text", "drill"));
+        }
+
+        ResponseEntity<Object> update(long userId) {
+            return patch("/1", userId, Map.of("available", false));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+    private static final Map<String, Object> BODY = Map.of("id", 1);
+    /**
+     * Тело {"id":1} занимает 8 байт, ключ из 4 символов учитывается дважды.
+     */
+    private static final int ENTRY_SIZE = 16;
+
+    private MutableClock clock;
+    private ResponseCacheProperties properties;
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock();
+        properties = new ResponseCacheProperties();
+        properties.setTtl(TTL);
+        properties.setMaxSize(DataSize.ofBytes(2 * ENTRY_SIZE + ENTRY_SIZE / 2));
+        cache = new ResponseCache(properties, new ObjectMapper(), new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesOverByteBudget() {
+        put("1 /a", "items");
+        put("1 /b", "items");
+        assertEquals(2 * ENTRY_SIZE, cache.getTotalBytes());
+        assertNotNull(cache.get("1 /a"));
+
+        put("1 /c", "items");
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(2 * ENTRY_SIZE, cache.getTotalBytes());
+        assertNotNull(cache.get("1 /a"));
+        assertNull(cache.get("1 /b"));
+        assertNotNull(cache.get("1 /c"));
+    }
+
+    @Test
+    public void shouldNotCacheEntryOverMaxEntrySize() {
+        properties.setMaxEntrySize(DataSize.ofBytes(4));
+
+        put("1 /a", "items");
+
+        assertNull(cache.get("1 /a"));
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void shouldExpireEntryAfterTtl() {
+        put("1 /a", "items");
+
+        clock.advance(TTL);
+        assertNotNull(cache.get("1 /a"));
+
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("1 /a"));
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void shouldPurgeOnlyEntriesWithGivenTags() {
+        put("1 /a", "items", "item:1");
+        put("1 /b", "requests");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(ResponseCache.PURGE_HEADER, "item:1");
+        cache.purge(headers);
+
+        assertNull(cache.get("1 /a"));
+        assertNotNull(cache.get("1 /b"));
+        assertEquals(ENTRY_SIZE, cache.getTotalBytes());
+        assertEquals(0, cache.purge(List.of("items", "item:1")));
+    }
+
+    @Test
+    public void shouldNotCacheResponseReceivedBeforePurge() {
+        long generation = cache.getPurgeGeneration();
+
+        cache.purge(List.of("items"));
+        cache.put("1 /a", response("items"), generation);
+        assertNull(cache.get("1 /a"));
+
+        cache.put("1 /a", response("items"), cache.getPurgeGeneration());
+        assertNotNull(cache.get("1 /a"));
+    }
+
+    @Test
+    public void shouldNotCacheResponseWithoutTags() {
+        cache.put("1 /a", ResponseEntity.ok(BODY), cache.getPurgeGeneration());
+        cache.put("1 /b", ResponseEntity.status(HttpStatus.CREATED)
+                .header(ResponseCache.TAGS_HEADER, "items")
+                .body(BODY), cache.getPurgeGeneration());
+
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    private void put(String key, String... tags) {
+        cache.put(key, response(tags), cache.getPurgeGeneration());
+    }
+
+    private ResponseEntity<Object> response(String... tags) {
+        return ResponseEntity.ok()
+                .header(ResponseCache.TAGS_HEADER, String.join(",", tags))
+                .body(BODY);
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2022-09-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.client.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.exception.ClientDisconnectedException;
+import ru.practicum.shareit.client.exception.ServerUnavailableException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EndpointGroupGuardTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private MutableClock clock;
+    private EndpointGroupGuard guard;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock();
+        guard = new EndpointGroupGuard("bookings",
+                new Bulkhead("read", 1, Duration.ofMillis(10)),
+                new Bulkhead("write", 1, Duration.ofMillis(10)),
+                new Bulkhead("stream", 1, Duration.ofMillis(10)),
+                new CircuitBreaker("bookings", 2, OPEN_DURATION, clock));
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldRejectCallsOverBulkheadLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> slowRead = CompletableFuture.supplyAsync(
+                () -> guard.execute(HttpMethod.GET, () -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.ok().build();
+                }));
+
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1, guard.getReadBulkhead().getActiveCalls());
+            assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::ok));
+            assertEquals(HttpStatus.OK, guard.execute(HttpMethod.POST, this::ok).getStatusCode());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(HttpStatus.OK, slowRead.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(0, guard.getReadBulkhead().getActiveCalls());
+        assertEquals(HttpStatus.OK, guard.execute(HttpMethod.GET, this::ok).getStatusCode());
+    }
+
+    @Test
+    public void shouldKeepStreamsOutOfReadBulkhead() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> slowStream = CompletableFuture.supplyAsync(
+                () -> guard.executeStream(() -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.ok().build();
+                }));
+
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1, guard.getStreamBulkhead().getActiveCalls());
+            assertEquals(0, guard.getReadBulkhead().getActiveCalls());
+            assertEquals(HttpStatus.OK, guard.execute(HttpMethod.GET, this::ok).getStatusCode());
+            assertThrows(ServerUnavailableException.class, () -> guard.executeStream(this::ok));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(HttpStatus.OK, slowStream.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(0, guard.getStreamBulkhead().getActiveCalls());
+    }
+
+    @Test
+    public void shouldMapConnectionErrorsToServerUnavailable() {
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::refused));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+        assertEquals(0, guard.getReadBulkhead().getActiveCalls());
+    }
+
+    @Test
+    public void shouldOpenCircuitAfterConsecutiveFailures() {
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::refused));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                guard.execute(HttpMethod.GET, this::serverError).getStatusCode());
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::ok));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void shouldCloseCircuitAfterSuccessfulProbe() {
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+
+        assertEquals(HttpStatus.OK, guard.execute(HttpMethod.GET, this::ok).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+        assertEquals(HttpStatus.OK, guard.execute(HttpMethod.GET, this::ok).getStatusCode());
+    }
+
+    @Test
+    public void shouldReopenCircuitAfterFailedProbe() {
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::refused));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+
+        int callsBefore = calls.get();
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::ok));
+        assertEquals(callsBefore, calls.get());
+    }
+
+    @Test
+    public void shouldSettleProbeThatFailsWithUnexpectedException() {
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+
+        assertThrows(IllegalStateException.class, () -> guard.execute(HttpMethod.GET, this::broken));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+        assertEquals(0, guard.getReadBulkhead().getActiveCalls());
+
+        clock.advance(OPEN_DURATION);
+        assertEquals(HttpStatus.OK, guard.execute(HttpMethod.GET, this::ok).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void shouldNotCountClientDisconnectAsServerFailure() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ClientDisconnectedException.class, () -> guard.executeStream(this::disconnected));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+        assertEquals(0, guard.getStreamBulkhead().getActiveCalls());
+
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+        assertThrows(ClientDisconnectedException.class, () -> guard.executeStream(this::disconnected));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ServerUnavailableException.class, () -> guard.execute(HttpMethod.GET, this::refused));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+    }
+
+    private ResponseEntity<Object> ok() {
+        calls.incrementAndGet();
+        return ResponseEntity.ok().build();
+    }
+
+    private ResponseEntity<Object> serverError() {
+        calls.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    private ResponseEntity<Object> refused() {
+        calls.incrementAndGet();
+        throw new ResourceAccessException("Connection refused");
+    }
+
+    private ResponseEntity<Object> broken() {
+        calls.incrementAndGet();
+        throw new IllegalStateException("Unexpected response");
+    }
+
+    private ResponseEntity<Object> disconnected() {
+        calls.incrementAndGet();
+        throw new ClientDisconnectedException(new IOException("Broken pipe"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2022-09-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Заполнение сервера начальными данными через его REST API, минуя шлюз: шлюз не принимает прошедшие
+ * бронирования, а комментарии можно оставить только после завершенного бронирования.
+ * Бронирования каждой вещи не пересекаются и поочередно лежат в прошлом и в будущем,
+ * каждое четвертое остается нерассмотренным. Данные детерминированы значением loadtest.seed.
+ */
+final class DataSeeder {
+
+    static final String[] WORDS = {"дрель", "перфоратор", "палатка", "велосипед", "проектор", "лестница",
+            "шуруповерт", "байдарка", "самокат", "гитара"};
+    private static final String[] DETAILS = {"аккумуляторная", "с набором насадок", "для похода", "горный",
+            "для презентаций", "алюминиевая", "детский", "профессиональный"};
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final URI serverUri;
+    private final ObjectMapper mapper;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    DataSeeder(LoadTestConfig config, HttpClient client, URI serverUri, ObjectMapper mapper) {
+        this.config = config;
+        this.client = client;
+        this.serverUri = serverUri;
+        this.mapper = mapper;
+    }
+
+    SeededData seed() throws Exception {
+        SeededData data = new SeededData();
+        Random random = new Random(config.seed);
+        ExecutorService executor = Executors.newFixedThreadPool(config.seedThreads);
+
+        try {
+            data.userIds.addAll(inParallel(executor, config.users, i -> post("/users", null, Map.of(
+                    "name", "Пользователь " + i,
+                    "email", "user" + i + "@load.test"))));
+
+            List<Long> requesters = new ArrayList<>();
+            for (int i = 0; i < config.requests; i++) {
+                requesters.add(pick(data.userIds, random));
+            }
+            data.requestIds.addAll(inParallel(executor, config.requests, i -> post("/requests", requesters.get(i),
+                    Map.of("description", "Нужна " + WORDS[i % WORDS.length] + " на выходные"))));
+            data.requesterIds.addAll(new LinkedHashSet<>(requesters));
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < config.items; i++) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", WORDS[random.nextInt(WORDS.length)] + " " + i);
+                item.put("description", WORDS[random.nextInt(WORDS.length)] + " " +
+                        DETAILS[random.nextInt(DETAILS.length)]);
+                item.put("available", true);
+                if (!data.requestIds.isEmpty() && i % 5 == 0) {
+                    item.put("requestId", pick(data.requestIds, random));
+                }
+                items.add(item);
+            }
+            List<Long> owners = new ArrayList<>();
+            for (int i = 0; i < config.items; i++) {
+                owners.add(data.userIds.get(i % data.userIds.size()));
+            }
+            data.itemIds.addAll(inParallel(executor, config.items, i -> post("/items", owners.get(i), items.get(i))));
+            for (int i = 0; i < config.items; i++) {
+                data.itemOwners.put(data.itemIds.get(i), owners.get(i));
+            }
+            data.ownerIds.addAll(new LinkedHashSet<>(owners));
+
+            seedBookingsAndComments(executor, data, random);
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return data;
+    }
+
+    private void seedBookingsAndComments(ExecutorService executor, SeededData data, Random random)
+            throws Exception {
+        List<Long> itemIds = new ArrayList<>();
+        List<Long> bookers = new ArrayList<>();
+        List<LocalDateTime> starts = new ArrayList<>();
+
+        for (int i = 0; i < config.bookings; i++) {
+            long itemId = data.itemIds.get(i % data.itemIds.size());
+            int slot = i / data.itemIds.size();
+            long booker = pick(data.userIds, random);
+            while (booker == data.itemOwners.get(itemId)) {
+                booker = pick(data.userIds, random);
+            }
+
+            itemIds.add(itemId);
+            bookers.add(booker);
+            starts.add(slot % 2 == 0
+                    ? now.minusDays(2L * (slot / 2 + 1))
+                    : now.plusDays(2L * (slot / 2) + 1));
+        }
+
+        List<Long> bookingIds = inParallel(executor, config.bookings, i -> post("/bookings", bookers.get(i), Map.of(
+                "itemId", itemIds.get(i),
+                "start", starts.get(i).toString(),
+                "end", starts.get(i).plusDays(1).toString())));
+        data.bookerIds.addAll(new LinkedHashSet<>(bookers));
+
+        inParallel(executor, config.bookings, i -> i % 4 == 3 ? 0L : patch(String.format(
+                "/bookings/%d?approved=true", bookingIds.get(i)), data.itemOwners.get(itemIds.get(i))));
+
+        List<Integer> commented = new ArrayList<>();
+        for (int i = 0; i < config.bookings && commented.size() < config.comments; i++) {
+            if (i % 4 != 3 && starts.get(i).isBefore(now)) {
+                commented.add(i);
+            }
+        }
+        inParallel(executor, commented.size(), i -> post(
+                String.format("/items/%d/comment", itemIds.get(commented.get(i))), bookers.get(commented.get(i)),
+                Map.of("text", "Все понравилось, спасибо")));
+    }
+
+    private long post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        return send(request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body))));
+    }
+
+    private long patch(String path, Long userId) throws IOException, InterruptedException {
+        return send(request(path, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(serverUri.resolve(path))
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", userId.toString());
+        }
+        return builder;
+    }
+
+    private long send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpRequest request = builder.build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(String.format("%s %s вернул %d: %s",
+                    request.method(), request.uri(), response.statusCode(), response.body()));
+        }
+        JsonNode id = mapper.readTree(response.body()).get("id");
+        return id == null ? 0 : id.asLong();
+    }
+
+    private static List<Long> inParallel(ExecutorService executor, int count, SeedCall call) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>();
+        IntFunction<Future<Long>> submit = i -> executor.submit(() -> call.execute(i));
+
+        for (int i = 0; i < count; i++) {
+            futures.add(submit.apply(i));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get());
+        }
+        return ids;
+    }
+
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    @FunctionalInterface
+    private interface SeedCall {
+        long execute(int index) throws Exception;
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Эндпоинты шлюза, на которые подается нагрузка. Каждый эндпоинт строит запрос со случайными
+ * пользователем и объектом из начальных данных.
+ */
+enum Endpoint {
+
+    GET_ITEM("get-item", "GET /items/{id}") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/items/" + pick(data.itemIds, random), pick(data.userIds, random));
+        }
+    },
+    OWNER_ITEMS("owner-items", "GET /items") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/items?from=0&size=10", pick(data.ownerIds, random));
+        }
+    },
+    SEARCH_ITEMS("search-items", "GET /items/search") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            String text = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+            return get(gateway, "/items/search?from=0&size=10&text=" + URLEncoder.encode(text, StandardCharsets.UTF_8),
+                    pick(data.userIds, random));
+        }
+    },
+    BOOKER_BOOKINGS("booker-bookings", "GET /bookings") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/bookings?state=ALL&from=0&size=10", pick(data.bookerIds, random));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/bookings/owner?state=ALL&from=0&size=10", pick(data.ownerIds, random));
+        }
+    },
+    OTHER_REQUESTS("other-requests", "GET /requests/all") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/requests/all?from=0&size=10", pick(data.userIds, random));
+        }
+    },
+    OWN_REQUESTS("own-requests", "GET /requests") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            List<Long> requesters = data.requesterIds.isEmpty() ? data.userIds : data.requesterIds;
+            return get(gateway, "/requests", pick(requesters, random));
+        }
+    },
+    GET_USER("get-user", "GET /users/{id}") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            return get(gateway, "/users/" + pick(data.userIds, random), null);
+        }
+    },
+    ADD_BOOKING("add-booking", "POST /bookings") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            long itemId = pick(data.itemIds, random);
+            long bookerId = pick(data.userIds, random);
+            while (bookerId == data.itemOwners.get(itemId)) {
+                bookerId = pick(data.userIds, random);
+            }
+
+            // Каждое бронирование получает собственный час далеко в будущем, поэтому окна не пересекаются.
+            LocalDateTime start = BOOKING_HORIZON.plusHours(BOOKING_SLOTS.getAndIncrement());
+            return post(gateway, "/bookings", bookerId, String.format(
+                    "{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start, start.plusMinutes(30)));
+        }
+    },
+    ADD_REQUEST("add-request", "POST /requests") {
+        @Override
+        HttpRequest.Builder request(URI gateway, SeededData data, Random random) {
+            String word = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+            return post(gateway, "/requests", pick(data.userIds, random),
+                    String.format("{\"description\":\"Нужна %s на неделю\"}", word));
+        }
+    };
+
+    private static final LocalDateTime BOOKING_HORIZON =
+            LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    private static final AtomicLong BOOKING_SLOTS = new AtomicLong();
+
+    private final String key;
+    private final String title;
+
+    Endpoint(String key, String title) {
+        this.key = key;
+        this.title = title;
+    }
+
+    abstract HttpRequest.Builder request(URI gateway, SeededData data, Random random);
+
+    String getTitle() {
+        return title;
+    }
+
+    static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный эндпоинт нагрузки: " + key);
+    }
+
+    private static HttpRequest.Builder get(URI gateway, String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(gateway.resolve(path)).GET();
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", userId.toString());
+        }
+        return builder;
+    }
+
+    private static HttpRequest.Builder post(URI gateway, String path, long userId, String body) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
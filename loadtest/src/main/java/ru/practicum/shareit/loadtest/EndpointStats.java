@@ -0,0 +1,76 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Результаты по одному эндпоинту: задержки успешных и неуспешных ответов в микросекундах
+ * и число ответов по классам статусов. Задержка отсчитывается от запланированного момента
+ * отправки, поэтому ожидание в очереди клиента при перегрузке тоже входит в нее.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long successful;
+    private long clientErrors;
+    private long serverErrors;
+    private long failed;
+    private long dropped;
+
+    synchronized void record(int status, long latencyMicros) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyMicros;
+
+        if (status < 400) {
+            successful++;
+        } else if (status < 500) {
+            clientErrors++;
+        } else {
+            serverErrors++;
+        }
+    }
+
+    synchronized void recordFailure(long latencyMicros) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyMicros;
+        failed++;
+    }
+
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    synchronized Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("throughput", count / seconds);
+        summary.put("successful", successful);
+        summary.put("clientErrors", clientErrors);
+        summary.put("serverErrors", serverErrors);
+        summary.put("failed", failed);
+        summary.put("dropped", dropped);
+        summary.put("p50Millis", percentile(sorted, 0.5));
+        summary.put("p90Millis", percentile(sorted, 0.9));
+        summary.put("p99Millis", percentile(sorted, 0.99));
+        summary.put("p999Millis", percentile(sorted, 0.999));
+        summary.put("maxMillis", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Нагрузочный тест пары шлюз + сервер: сервер запускается на H2 (профиль test), заполняется начальными
+ * данными, после чего на REST-эндпоинты шлюза подается нагрузка открытой модели. По каждому эндпоинту
+ * выводятся пропускная способность и процентили задержки, полный отчет сохраняется в JSON.
+ *
+ * Запуск: mvn install -DskipTests, затем mvn -pl loadtest exec:java [-Dloadtest.rate=...].
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(32);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+
+        try (ShareItProcess server = ShareItProcess.start("server", config.serverJar, config.workDir, List.of(
+                "--spring.profiles.active=test",
+                "--logging.level.org.springframework.orm.jpa=warn",
+                "--logging.level.org.springframework.transaction=warn",
+                "--logging.level.org.springframework.transaction.interceptor=warn",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=warn"))) {
+            server.awaitHealthy(client, Duration.ofMinutes(2));
+
+            try (ShareItProcess gateway = ShareItProcess.start("gateway", config.gatewayJar, config.workDir, List.of(
+                    "--shareit-server.url=" + server.getBaseUri(),
+                    "--logging.level.org.springframework.web.client.RestTemplate=warn"))) {
+                gateway.awaitHealthy(client, Duration.ofMinutes(2));
+
+                long seedStart = System.nanoTime();
+                SeededData data = new DataSeeder(config, client, server.getBaseUri(), mapper).seed();
+                System.out.printf("Начальные данные загружены за %.1f с: пользователей %d, вещей %d, " +
+                                "бронирований %d, запросов %d.%n", (System.nanoTime() - seedStart) / 1e9,
+                        data.userIds.size(), data.itemIds.size(), config.bookings, data.requestIds.size());
+
+                System.out.printf("Нагрузка %.0f запросов/с: прогрев %d с, измерение %d с.%n",
+                        config.rate, config.warmup.toSeconds(), config.duration.toSeconds());
+                Map<Endpoint, EndpointStats> stats =
+                        new OpenLoadDriver(config, client, gateway.getBaseUri(), data).run();
+
+                report(config, mapper, stats);
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void report(LoadTestConfig config, ObjectMapper mapper, Map<Endpoint, EndpointStats> stats)
+            throws Exception {
+        double seconds = config.duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%-22s %8s %8s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+                "4xx", "5xx", "failed", "drop", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((endpoint, endpointStats) -> {
+            Map<String, Object> summary = endpointStats.summarize(seconds);
+            endpoints.put(endpoint.getTitle(), summary);
+            System.out.printf("%-22s %8d %8.1f %6d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.getTitle(),
+                    summary.get("requests"), summary.get("throughput"), summary.get("clientErrors"),
+                    summary.get("serverErrors"), summary.get("failed"), summary.get("dropped"),
+                    summary.get("p50Millis"), summary.get("p90Millis"), summary.get("p99Millis"),
+                    summary.get("p999Millis"), summary.get("maxMillis"));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", config.rate);
+        report.put("warmupSeconds", config.warmup.toSeconds());
+        report.put("durationSeconds", config.duration.toSeconds());
+        report.put("users", config.users);
+        report.put("items", config.items);
+        report.put("bookings", config.bookings);
+        report.put("comments", config.comments);
+        report.put("requests", config.requests);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(config.report.toAbsolutePath().getParent());
+        mapper.writeValue(config.report.toFile(), report);
+        System.out.println("Отчет сохранен в " + config.report.toAbsolutePath());
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста из системных свойств loadtest.*:
+ * размеры начальных данных, интенсивность и длительность нагрузки и доли запросов к эндпоинтам.
+ */
+final class LoadTestConfig {
+
+    private static final String DEFAULT_MIX = "get-item:25,owner-items:10,search-items:20,booker-bookings:10," +
+            "owner-bookings:5,other-requests:10,own-requests:5,get-user:5,add-booking:5,add-request:5";
+
+    final Path serverJar;
+    final Path gatewayJar;
+    final Path workDir;
+    final Path report;
+    final int users;
+    final int items;
+    final int bookings;
+    final int comments;
+    final int requests;
+    final int seedThreads;
+    final double rate;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final long seed;
+    final Map<Endpoint, Integer> mix;
+
+    private LoadTestConfig() {
+        serverJar = Path.of(property("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+        gatewayJar = Path.of(property("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        workDir = Path.of(property("work-dir", "loadtest/target/loadtest"));
+        report = Path.of(property("report", workDir.resolve("report.json").toString()));
+        users = Integer.parseInt(property("users", "200"));
+        items = Integer.parseInt(property("items", "1000"));
+        bookings = Integer.parseInt(property("bookings", "2000"));
+        comments = Integer.parseInt(property("comments", "500"));
+        requests = Integer.parseInt(property("requests", "300"));
+        seedThreads = Integer.parseInt(property("seed-threads", "16"));
+        rate = Double.parseDouble(property("rate", "100"));
+        warmup = Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(property("duration-seconds", "60")));
+        maxInFlight = Integer.parseInt(property("max-in-flight", "2000"));
+        seed = Long.parseLong(property("seed", "42"));
+        mix = parseMix(property("mix", DEFAULT_MIX));
+
+        if (users < 2 || items < 1) {
+            throw new IllegalArgumentException("Для нагрузки нужны хотя бы два пользователя и одна вещь.");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Неверная доля запросов: " + part);
+            }
+            weights.put(Endpoint.byKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+}
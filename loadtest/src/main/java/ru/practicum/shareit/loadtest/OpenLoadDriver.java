@@ -0,0 +1,104 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузка открытой модели: запросы приходят пуассоновским потоком с заданной интенсивностью
+ * независимо от того, успел ли шлюз ответить на предыдущие. Запросы, пришедшие в период прогрева,
+ * не учитываются. Если без ответа остается больше max-in-flight запросов, новые не отправляются
+ * и считаются отброшенными.
+ */
+final class OpenLoadDriver {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final URI gatewayUri;
+    private final SeededData data;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoadDriver(LoadTestConfig config, HttpClient client, URI gatewayUri, SeededData data) {
+        this.config = config;
+        this.client = client;
+        this.gatewayUri = gatewayUri;
+        this.data = data;
+        config.mix.keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+    }
+
+    Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        Random random = new Random(config.seed);
+        int totalWeight = config.mix.values().stream().mapToInt(Integer::intValue).sum();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+
+        long start = System.nanoTime();
+        long measuredFrom = start + config.warmup.toNanos();
+        long end = measuredFrom + config.duration.toNanos();
+        long scheduled = start;
+
+        while (scheduled < end) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            Endpoint endpoint = pickEndpoint(random, totalWeight);
+            boolean measured = scheduled >= measuredFrom;
+            send(endpoint, scheduled, measured, random);
+
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+
+    private void send(Endpoint endpoint, long scheduled, boolean measured, Random random) {
+        EndpointStats endpointStats = stats.get(endpoint);
+
+        if (inFlight.get() >= config.maxInFlight) {
+            if (measured) {
+                endpointStats.recordDropped();
+            }
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        client.sendAsync(endpoint.request(gatewayUri, data, random).build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                    if (error != null) {
+                        endpointStats.recordFailure(latencyMicros);
+                    } else {
+                        endpointStats.record(response.statusCode(), latencyMicros);
+                    }
+                });
+    }
+
+    private Endpoint pickEndpoint(Random random, int totalWeight) {
+        int value = random.nextInt(totalWeight);
+
+        for (Map.Entry<Endpoint, Integer> entry : config.mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Пустой набор эндпоинтов нагрузки.");
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Идентификаторы начальных данных, из которых нагрузка выбирает пользователей, вещи и запросы.
+ */
+final class SeededData {
+
+    final List<Long> userIds = new ArrayList<>();
+    final List<Long> itemIds = new ArrayList<>();
+    final Map<Long, Long> itemOwners = new HashMap<>();
+    final List<Long> ownerIds = new ArrayList<>();
+    final List<Long> bookerIds = new ArrayList<>();
+    final List<Long> requestIds = new ArrayList<>();
+    final List<Long> requesterIds = new ArrayList<>();
+}
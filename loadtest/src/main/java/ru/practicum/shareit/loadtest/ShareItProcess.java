@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер или шлюз, запущенный отдельным процессом из собранного jar. Сервер и шлюз содержат классы
+ * с одинаковыми именами, поэтому в одной JVM их не запустить. Вывод процесса пишется в файл name.log.
+ */
+final class ShareItProcess implements AutoCloseable {
+
+    private final String name;
+    private final Process process;
+    private final URI baseUri;
+
+    private ShareItProcess(String name, Process process, int port) {
+        this.name = name;
+        this.process = process;
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    static ShareItProcess start(String name, Path jar, Path workDir, List<String> args) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(String.format(
+                    "Не найден %s. Соберите проект командой mvn install -DskipTests.", jar));
+        }
+        Files.createDirectories(workDir);
+
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.add("--logging.level.ru.practicum.shareit=warn");
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(name + ".log").toFile())
+                .start();
+        return new ShareItProcess(name, process, port);
+    }
+
+    /**
+     * Ожидание, пока actuator процесса не ответит статусом UP.
+     */
+    void awaitHealthy(HttpClient client, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).GET().build();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(String.format(
+                        "Процесс %s завершился с кодом %d, см. %s.log.", name, process.exitValue(), name));
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("UP")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Процесс еще не открыл порт.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(String.format("Процесс %s не запустился за %s.", name, timeout));
+    }
+
+    URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор синтетических данных и загрузчик их напрямую в таблицы schema.sql, минуя REST API сервера.
+ * Все значения берутся из одного генератора случайных чисел в фиксированном порядке, поэтому при одинаковых
+ * seed и параметрах получаются одинаковые данные. Строки пишутся пачками JDBC batch, а в Postgres -
+ * через COPY. Идентификаторы продолжают уже существующие в таблицах и выданные последовательностями, так что
+ * загрузку можно повторять в одну базу; после загрузки последовательности сдвигаются за добавленные строки.
+ * Пока идет загрузка, работающий сервер мог бы взять из последовательности блок id внутри добавляемого
+ * диапазона, поэтому загрузка отказывается работать, если к базе подключен кто-то еще.
+ *
+ * Запуск: mvn -pl loadtest exec:java -Dexec.mainClass=ru.practicum.shareit.loadtest.data.BulkLoader
+ * -Ddatagen.url=... [-Ddatagen.users=...].
+ */
+public final class BulkLoader {
+
+    private static final int NAME_LIMIT = 255;
+    private static final int TEXT_LIMIT = 1024;
+    private static final int REQUEST_AGE_DAYS = 365;
+    private static final int BOOKINGS_HISTORY_DAYS = 60;
+
+    private final DataGeneratorConfig config;
+    private final Random random;
+
+    private BulkLoader(DataGeneratorConfig config) {
+        this.config = config;
+        this.random = new Random(config.seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorConfig config = DataGeneratorConfig.fromSystemProperties();
+        long start = System.nanoTime();
+
+        GeneratedData data = load(config);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long rows = data.getUsers() + data.getRequests() + data.getItems() + data.getBookings() + data.getComments();
+        System.out.printf("Загружено за %.1f с (%.0f строк/с, %s): пользователей %d, запросов %d, вещей %d, " +
+                        "бронирований %d, комментариев %d.%n", seconds, rows / seconds,
+                config.copy ? "COPY" : "JDBC batch", data.getUsers(), data.getRequests(), data.getItems(),
+                data.getBookings(), data.getComments());
+    }
+
+    public static GeneratedData load(DataGeneratorConfig config) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(config.url, config.username, config.password)) {
+            connection.setAutoCommit(false);
+            return new BulkLoader(config).load(connection);
+        }
+    }
+
+    private GeneratedData load(Connection connection) throws SQLException, IOException {
+        if (!config.schema.isBlank()) {
+            createSchema(connection, Path.of(config.schema));
+        }
+
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        checkNoOtherSessions(connection, postgres);
+
+        long firstUserId = firstId(connection, postgres, "users", "user_id");
+        long firstRequestId = firstId(connection, postgres, "requests", "request_id");
+        long firstItemId = firstId(connection, postgres, "items", "item_id");
+        long firstBookingId = firstId(connection, postgres, "bookings", "booking_id");
+        long firstCommentId = firstId(connection, postgres, "comments", "comment_id");
+
+        List<Long> owners = new ArrayList<>();
+        try (TableWriter users = open(connection, "users", "user_id", "user_name", "email")) {
+            for (int i = 0; i < config.users; i++) {
+                long userId = firstUserId + i;
+                users.row(userId, text(config.nameLength, NAME_LIMIT), "user" + userId + "@shareit.test");
+
+                if (random.nextDouble() < config.ownerShare) {
+                    owners.add(userId);
+                }
+            }
+        }
+
+        long[] requesters = new long[config.requests];
+        try (TableWriter requests = open(connection, "requests",
+                "request_id", "requester", "description", "created")) {
+            for (int i = 0; i < config.requests; i++) {
+                requesters[i] = randomUser(firstUserId);
+                requests.row(firstRequestId + i, requesters[i], text(config.requestLength, TEXT_LIMIT),
+                        config.now.minusMinutes(random.nextInt(REQUEST_AGE_DAYS * 24 * 60)));
+            }
+        }
+
+        int[] itemsPerOwner = new int[owners.size()];
+        int itemCount = 0;
+        for (int i = 0; i < itemsPerOwner.length; i++) {
+            itemsPerOwner[i] = config.itemsPerOwner.sample(random);
+            itemCount += itemsPerOwner[i];
+        }
+
+        GeneratedData data = new GeneratedData(firstUserId, config.users, firstRequestId, config.requests,
+                firstItemId, itemCount);
+        System.arraycopy(requesters, 0, data.requesters, 0, requesters.length);
+
+        try (TableWriter items = open(connection, "items",
+                "item_id", "owner_id", "item_name", "description", "available", "for_request")) {
+            int index = 0;
+
+            for (int i = 0; i < itemsPerOwner.length; i++) {
+                for (int j = 0; j < itemsPerOwner[i]; j++) {
+                    Long forRequest = config.requests > 0 && random.nextDouble() < config.requestAnswerShare
+                            ? firstRequestId + random.nextInt(config.requests) : null;
+
+                    data.itemOwners[index] = owners.get(i);
+                    items.row(firstItemId + index, owners.get(i), text(config.nameLength, NAME_LIMIT),
+                            text(config.descriptionLength, TEXT_LIMIT), random.nextDouble() < 0.9, forRequest);
+                    index++;
+                }
+            }
+        }
+
+        List<PendingComment> pendingComments = new ArrayList<>();
+        try (TableWriter bookings = open(connection, "bookings",
+                "booking_id", "for_item", "by_user", "start_time", "end_time", "approved")) {
+            long bookingId = firstBookingId;
+
+            for (int index = 0; index < itemCount; index++) {
+                long itemId = firstItemId + index;
+                long ownerId = data.itemOwners[index];
+                int count = config.bookingsPerItem.sample(random);
+                LocalDateTime cursor = config.now.minusDays(random.nextInt(BOOKINGS_HISTORY_DAYS + 1));
+
+                for (int i = 0; i < count && config.users > 1; i++) {
+                    LocalDateTime start = cursor.plusDays(config.bookingGapDays.sample(random))
+                            .plusHours(random.nextInt(24));
+                    LocalDateTime end = start.plusDays(Math.max(1, config.bookingDays.sample(random)));
+                    cursor = end;
+
+                    long bookerId = randomUser(firstUserId);
+                    while (bookerId == ownerId) {
+                        bookerId = randomUser(firstUserId);
+                    }
+
+                    double decision = random.nextDouble();
+                    Boolean approved = decision < config.approvedShare ? Boolean.TRUE
+                            : decision < config.approvedShare + config.rejectedShare ? Boolean.FALSE : null;
+                    bookings.row(bookingId++, itemId, bookerId, start, end, approved);
+
+                    if (Boolean.TRUE.equals(approved) && start.isBefore(config.now)
+                            && random.nextDouble() < config.commentShare) {
+                        LocalDateTime created = end.isBefore(config.now) ? end.plusHours(1) : config.now;
+                        pendingComments.add(new PendingComment(itemId, bookerId, created));
+                    }
+                }
+            }
+            data.bookings = bookingId - firstBookingId;
+        }
+
+        try (TableWriter comments = open(connection, "comments",
+                "comment_id", "author_id", "commented_item_id", "comment_text", "created")) {
+            long commentId = firstCommentId;
+
+            for (PendingComment comment : pendingComments) {
+                comments.row(commentId++, comment.authorId, comment.itemId,
+                        text(config.commentLength, TEXT_LIMIT), comment.created);
+            }
+            data.comments = commentId - firstCommentId;
+        }
+
+        restartSequence(connection, "users", firstUserId + data.users);
+        restartSequence(connection, "requests", firstRequestId + data.requests);
+        restartSequence(connection, "items", firstItemId + itemCount);
+        restartSequence(connection, "bookings", firstBookingId + data.bookings);
+        restartSequence(connection, "comments", firstCommentId + data.comments);
+        connection.commit();
+
+        return data;
+    }
+
+    private TableWriter open(Connection connection, String table, String... columns) throws SQLException {
+        return TableWriter.open(connection, config.copy, config.batchSize, table, columns);
+    }
+
+    private long randomUser(long firstUserId) {
+        return firstUserId + random.nextInt(config.users);
+    }
+
+    private String text(Distribution length, int limit) {
+        return TextGenerator.text(random, Math.min(limit, Math.max(1, length.sample(random))));
+    }
+
+    private static void createSchema(Connection connection, Path schema) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : Files.readString(schema).split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Другие сессии базы - признак работающего сервера: он держит блоки id из последовательностей
+     * и может взять следующий блок посреди загрузки.
+     */
+    private static void checkNoOtherSessions(Connection connection, boolean postgres) throws SQLException {
+        long sessions = queryLong(connection, postgres
+                ? "SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database() " +
+                "AND pid <> pg_backend_pid() AND backend_type = 'client backend'"
+                : "SELECT COUNT(*) - 1 FROM INFORMATION_SCHEMA.SESSIONS");
+
+        if (sessions > 0) {
+            throw new IllegalStateException(String.format("К базе данных подключено других сессий: %d. " +
+                    "Остановите сервер перед загрузкой данных.", sessions));
+        }
+    }
+
+    /**
+     * Первый id добавляемых строк: за наибольшим id таблицы и за всеми блоками, уже выданными
+     * последовательностью (оптимизатор pooled-lo получает из нее начало блока).
+     */
+    private static long firstId(Connection connection, boolean postgres, String table, String column)
+            throws SQLException {
+        long maxId = queryLong(connection, String.format("SELECT COALESCE(MAX(%s), 0) FROM %s", column, table));
+        long nextValue = queryLong(connection, postgres
+                ? String.format("SELECT nextval('%s_seq')", table)
+                : String.format("SELECT NEXT VALUE FOR %s_seq", table));
+
+        return Math.max(maxId + 1, nextValue);
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    /**
+     * Сдвиг последовательности идентификаторов таблицы: строки вставлены с явными id, и без сдвига
+     * приложение выдало бы уже занятые id. Следующее значение последовательности - начало следующего
+     * блока id приложения (оптимизатор pooled-lo).
+     */
+    private static void restartSequence(Connection connection, String table, long nextId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(String.format("ALTER SEQUENCE %s_seq RESTART WITH %d", table, nextId));
+        }
+    }
+
+    private static final class PendingComment {
+        private final long itemId;
+        private final long authorId;
+        private final LocalDateTime created;
+
+        PendingComment(long itemId, long authorId, LocalDateTime created) {
+            this.itemId = itemId;
+            this.authorId = authorId;
+            this.created = created;
+        }
+    }
+}
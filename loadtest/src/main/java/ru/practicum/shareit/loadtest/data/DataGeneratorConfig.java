@@ -0,0 +1,85 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Параметры генератора из системных свойств datagen.*. Распределения задаются строками
+ * в формате {@link Distribution}.
+ */
+public final class DataGeneratorConfig {
+
+    final String url;
+    final String username;
+    final String password;
+    final String schema;
+    final boolean copy;
+    final int batchSize;
+    final long seed;
+    final LocalDateTime now;
+
+    final int users;
+    final double ownerShare;
+    final Distribution itemsPerOwner;
+    final int requests;
+    final double requestAnswerShare;
+    final Distribution bookingsPerItem;
+    final Distribution bookingDays;
+    final Distribution bookingGapDays;
+    final double approvedShare;
+    final double rejectedShare;
+    final double commentShare;
+    final Distribution nameLength;
+    final Distribution descriptionLength;
+    final Distribution requestLength;
+    final Distribution commentLength;
+
+    private DataGeneratorConfig(String defaultUrl, String defaultUsername, String defaultPassword) {
+        url = property("url", defaultUrl);
+        if (url == null) {
+            throw new IllegalArgumentException("Не указан JDBC URL базы данных (datagen.url).");
+        }
+        username = property("username", defaultUsername);
+        password = property("password", defaultPassword);
+        schema = property("schema", "");
+        copy = Boolean.parseBoolean(property("copy", String.valueOf(url.startsWith("jdbc:postgresql:"))));
+        batchSize = Integer.parseInt(property("batch-size", "5000"));
+        seed = Long.parseLong(property("seed", "42"));
+        now = LocalDateTime.parse(property("now", LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).toString()));
+
+        users = Integer.parseInt(property("users", "10000"));
+        if (users < 1) {
+            throw new IllegalArgumentException("Число пользователей (datagen.users) должно быть положительным.");
+        }
+        ownerShare = Double.parseDouble(property("owner-share", "0.3"));
+        itemsPerOwner = Distribution.parse(property("items-per-owner", "zipf:1.2:200"));
+        requests = Integer.parseInt(property("requests", "5000"));
+        requestAnswerShare = Double.parseDouble(property("request-answer-share", "0.1"));
+        bookingsPerItem = Distribution.parse(property("bookings-per-item", "geometric:5"));
+        bookingDays = Distribution.parse(property("booking-days", "uniform:1:7"));
+        bookingGapDays = Distribution.parse(property("booking-gap-days", "geometric:3"));
+        approvedShare = Double.parseDouble(property("approved-share", "0.7"));
+        rejectedShare = Double.parseDouble(property("rejected-share", "0.1"));
+        commentShare = Double.parseDouble(property("comment-share", "0.3"));
+        nameLength = Distribution.parse(property("name-length", "uniform:5:40"));
+        descriptionLength = Distribution.parse(property("description-length", "uniform:20:300"));
+        requestLength = Distribution.parse(property("request-length", "uniform:20:200"));
+        commentLength = Distribution.parse(property("comment-length", "geometric:80"));
+    }
+
+    public static DataGeneratorConfig fromSystemProperties() {
+        return new DataGeneratorConfig(null, "", "");
+    }
+
+    /**
+     * Параметры для заданной базы данных: URL и учетные данные из системных свойств, если они указаны,
+     * имеют приоритет.
+     */
+    public static DataGeneratorConfig forDatabase(String url, String username, String password) {
+        return new DataGeneratorConfig(url, username, password);
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("datagen." + name, defaultValue);
+    }
+}
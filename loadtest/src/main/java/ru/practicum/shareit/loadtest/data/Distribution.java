@@ -0,0 +1,105 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.util.Random;
+
+/**
+ * Распределение целых неотрицательных величин (вещей у владельца, бронирований вещи, длины текста),
+ * задаваемое строкой:
+ * <ul>
+ *     <li>fixed:n - всегда n;</li>
+ *     <li>uniform:min:max - равномерно от min до max включительно;</li>
+ *     <li>geometric:mean - геометрическое со средним mean (много малых значений и длинный хвост);</li>
+ *     <li>zipf:s:max - Ципфа с показателем s на значениях от 1 до max (несколько очень больших значений).</li>
+ * </ul>
+ */
+abstract class Distribution {
+
+    abstract int sample(Random random);
+
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    return fixed(Integer.parseInt(parts[1]));
+                case "uniform":
+                    return uniform(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                case "geometric":
+                    return geometric(Double.parseDouble(parts[1]));
+                case "zipf":
+                    return zipf(Double.parseDouble(parts[1]), Integer.parseInt(parts[2]));
+                default:
+                    throw new IllegalArgumentException("Неизвестное распределение: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Неверное описание распределения: " + spec, e);
+        }
+    }
+
+    private static Distribution fixed(int value) {
+        return new Distribution() {
+            @Override
+            int sample(Random random) {
+                return value;
+            }
+        };
+    }
+
+    private static Distribution uniform(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException(String.format("Неверные границы распределения: %d..%d", min, max));
+        }
+        return new Distribution() {
+            @Override
+            int sample(Random random) {
+                return min + random.nextInt(max - min + 1);
+            }
+        };
+    }
+
+    private static Distribution geometric(double mean) {
+        if (mean <= 0) {
+            return fixed(0);
+        }
+        double success = 1 / (mean + 1);
+        double logFailure = Math.log(1 - success);
+
+        return new Distribution() {
+            @Override
+            int sample(Random random) {
+                return (int) Math.floor(Math.log(1 - random.nextDouble()) / logFailure);
+            }
+        };
+    }
+
+    private static Distribution zipf(double exponent, int max) {
+        double[] cumulative = new double[max];
+        double sum = 0;
+
+        for (int i = 0; i < max; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        double total = sum;
+
+        return new Distribution() {
+            @Override
+            int sample(Random random) {
+                double value = random.nextDouble() * total;
+                int low = 0;
+                int high = max - 1;
+
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (cumulative[middle] < value) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                return low + 1;
+            }
+        };
+    }
+}
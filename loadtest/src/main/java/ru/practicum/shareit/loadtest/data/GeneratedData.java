@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest.data;
+
+/**
+ * Итог генерации: диапазоны идентификаторов добавленных строк и владельцы вещей.
+ * Идентификаторы каждой таблицы идут подряд, начиная с firstId.
+ */
+public final class GeneratedData {
+
+    final long firstUserId;
+    final int users;
+    final long firstRequestId;
+    final int requests;
+    final long firstItemId;
+    final long[] itemOwners;
+    final long[] requesters;
+    long bookings;
+    long comments;
+
+    GeneratedData(long firstUserId, int users, long firstRequestId, int requests, long firstItemId, int items) {
+        this.firstUserId = firstUserId;
+        this.users = users;
+        this.firstRequestId = firstRequestId;
+        this.requests = requests;
+        this.firstItemId = firstItemId;
+        this.itemOwners = new long[items];
+        this.requesters = new long[requests];
+    }
+
+    public long getFirstUserId() {
+        return firstUserId;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public long getFirstRequestId() {
+        return firstRequestId;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public long getRequester(int index) {
+        return requesters[index];
+    }
+
+    public long getFirstItemId() {
+        return firstItemId;
+    }
+
+    public int getItems() {
+        return itemOwners.length;
+    }
+
+    public long getItemOwner(int index) {
+        return itemOwners[index];
+    }
+
+    public long getBookings() {
+        return bookings;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Запись пакетными INSERT: строки накапливаются в пакете JDBC, пакет выполняется и фиксируется
+ * каждые batchSize строк. Для PostgreSQL без COPY в URL стоит указать reWriteBatchedInserts=true.
+ */
+final class JdbcBatchWriter implements TableWriter {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private int pending;
+
+    JdbcBatchWriter(Connection connection, int batchSize, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.statement = connection.prepareStatement(String.format("INSERT INTO %s (%s) VALUES (%s)",
+                table, String.join(", ", columns), String.join(", ", Collections.nCopies(columns.length, "?"))));
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            statement.setObject(i + 1, value instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) value) : value);
+        }
+        statement.addBatch();
+
+        if (++pending == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+    }
+}
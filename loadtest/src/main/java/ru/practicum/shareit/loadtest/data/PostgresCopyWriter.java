@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest.data;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Запись командой COPY ... FROM STDIN в формате CSV: строки копятся в буфере и передаются
+ * серверу PostgreSQL каждые batchSize строк в рамках одной команды COPY на таблицу.
+ */
+final class PostgresCopyWriter implements TableWriter {
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder();
+    private int pending;
+
+    PostgresCopyWriter(Connection connection, int batchSize, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(String.format(
+                "COPY %s (%s) FROM STDIN WITH (FORMAT csv)", table, String.join(", ", columns)));
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+
+        if (++pending == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copyIn.endCopy();
+            connection.commit();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+
+        if (value instanceof String) {
+            buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+        } else if (value instanceof LocalDateTime) {
+            buffer.append(Timestamp.valueOf((LocalDateTime) value));
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (pending > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+            pending = 0;
+        }
+    }
+}
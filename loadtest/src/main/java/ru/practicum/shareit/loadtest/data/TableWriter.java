@@ -0,0 +1,22 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Построчная запись в одну таблицу. Реализации копят строки и отправляют их в базу пачками.
+ */
+interface TableWriter extends AutoCloseable {
+
+    void row(Object... values) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+    static TableWriter open(Connection connection, boolean copy, int batchSize, String table, String... columns)
+            throws SQLException {
+        return copy
+                ? new PostgresCopyWriter(connection, batchSize, table, columns)
+                : new JdbcBatchWriter(connection, batchSize, table, columns);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.loadtest.data;
+
+import java.util.Random;
+
+/**
+ * Тексты из словаря предметов и прилагательных заданной длины: названия и описания вещей,
+ * запросы и комментарии. Первое слово - название предмета, чтобы поиск по вещам находил совпадения.
+ */
+final class TextGenerator {
+
+    private static final String[] SUBJECTS = {"дрель", "перфоратор", "палатка", "велосипед", "проектор",
+            "лестница", "шуруповерт", "байдарка", "самокат", "гитара", "пылесос", "генератор", "мангал",
+            "спальник", "удочка", "сноуборд", "штатив", "фотоаппарат", "колонка", "кофеварка"};
+    private static final String[] WORDS = {"новый", "аккумуляторный", "компактный", "легкий", "надежный",
+            "профессиональный", "детский", "туристический", "складной", "мощный", "с", "набором", "насадок",
+            "для", "дачи", "похода", "ремонта", "выходных", "в", "отличном", "состоянии", "почти", "без",
+            "следов", "использования", "зарядка", "в", "комплекте"};
+
+    private TextGenerator() {
+    }
+
+    static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        text.append(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+
+        while (text.length() < length) {
+            text.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (text.length() > length && length > 0) {
+            text.setLength(length);
+        }
+        return text.toString().trim();
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.loadtest.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkLoaderTest {
+
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "datagen.schema", "../server/src/main/resources/schema.sql",
+            "datagen.now", "2022-09-01T10:00",
+            "datagen.users", "50",
+            "datagen.requests", "20",
+            "datagen.batch-size", "7");
+
+    private static int databases;
+
+    @BeforeEach
+    public void setUp() {
+        PROPERTIES.forEach(System::setProperty);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PROPERTIES.keySet().forEach(System::clearProperty);
+        System.clearProperty("datagen.seed");
+    }
+
+    @Test
+    public void shouldGenerateSameDataForSameSeed() throws Exception {
+        String firstUrl = newDatabaseUrl();
+        String secondUrl = newDatabaseUrl();
+
+        GeneratedData first = BulkLoader.load(config(firstUrl));
+        GeneratedData second = BulkLoader.load(config(secondUrl));
+
+        assertEquals(first.getItems(), second.getItems());
+        assertEquals(first.getBookings(), second.getBookings());
+        assertEquals(first.getComments(), second.getComments());
+        for (String table : TABLES) {
+            assertEquals(dump(firstUrl, table), dump(secondUrl, table), table);
+        }
+    }
+
+    @Test
+    public void shouldGenerateOtherDataForOtherSeed() throws Exception {
+        String firstUrl = newDatabaseUrl();
+        String secondUrl = newDatabaseUrl();
+
+        BulkLoader.load(config(firstUrl));
+        System.setProperty("datagen.seed", "7");
+        BulkLoader.load(config(secondUrl));
+
+        assertNotEquals(dump(firstUrl, "users"), dump(secondUrl, "users"));
+    }
+
+    @Test
+    public void shouldContinueIdsAfterTableAndSequence() throws Exception {
+        String url = newDatabaseUrl();
+
+        GeneratedData first = BulkLoader.load(config(url));
+        assertEquals(1, first.getFirstUserId());
+        assertEquals(1, first.getFirstRequestId());
+
+        execute(url, "ALTER SEQUENCE users_seq RESTART WITH 1000");
+        System.setProperty("datagen.schema", "");
+        GeneratedData second = BulkLoader.load(config(url));
+
+        assertEquals(1000, second.getFirstUserId());
+        assertEquals(first.getFirstRequestId() + first.getRequests(), second.getFirstRequestId());
+        assertEquals(1000 + second.getUsers(), queryLong(url, "SELECT NEXT VALUE FOR users_seq"));
+        assertEquals(first.getUsers() + second.getUsers(), queryLong(url, "SELECT COUNT(*) FROM users"));
+    }
+
+    @Test
+    public void shouldRefuseToLoadWhileOtherSessionsAreConnected() throws Exception {
+        String url = newDatabaseUrl();
+
+        try (Connection server = DriverManager.getConnection(url, "sa", "")) {
+            assertThrows(IllegalStateException.class, () -> BulkLoader.load(config(url)));
+        }
+        assertEquals(50, BulkLoader.load(config(url)).getUsers());
+    }
+
+    private String newDatabaseUrl() {
+        return "jdbc:h2:mem:bulk-loader-" + databases++ + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private DataGeneratorConfig config(String url) {
+        return DataGeneratorConfig.forDatabase(url, "sa", "");
+    }
+
+    private List<List<Object>> dump(String url, String table) throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT * FROM " + table + " ORDER BY 1")) {
+            ResultSetMetaData metaData = result.getMetaData();
+
+            while (result.next()) {
+                List<Object> row = new ArrayList<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    row.add(result.getObject(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long queryLong(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DistributionTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    public void shouldAlwaysReturnFixedValue() {
+        Distribution distribution = Distribution.parse("fixed:3");
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(3, distribution.sample(random));
+        }
+    }
+
+    @Test
+    public void shouldSampleUniformValuesInsideBoundsWithEqualFrequencies() {
+        Distribution distribution = Distribution.parse("uniform:2:5");
+        Random random = new Random(1);
+        int[] counts = new int[6];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        assertEquals(0, counts[0] + counts[1]);
+        for (int value = 2; value <= 5; value++) {
+            assertEquals(SAMPLES / 4.0, counts[value], SAMPLES * 0.01);
+        }
+    }
+
+    @Test
+    public void shouldSampleGeometricValuesWithGivenMean() {
+        Distribution distribution = Distribution.parse("geometric:5");
+        Random random = new Random(1);
+        long sum = 0;
+        int zeros = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            int value = distribution.sample(random);
+            assertTrue(value >= 0);
+            sum += value;
+            if (value == 0) {
+                zeros++;
+            }
+        }
+
+        assertEquals(5.0, (double) sum / SAMPLES, 0.1);
+        assertEquals(1 / 6.0, (double) zeros / SAMPLES, 0.01);
+        assertEquals(0, Distribution.parse("geometric:0").sample(random));
+    }
+
+    @Test
+    public void shouldSampleZipfValuesWithDecreasingFrequencies() {
+        Distribution distribution = Distribution.parse("zipf:1:10");
+        Random random = new Random(1);
+        int[] counts = new int[11];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        double harmonic = 0;
+        for (int value = 1; value <= 10; value++) {
+            harmonic += 1.0 / value;
+        }
+        assertEquals(0, counts[0]);
+        for (int value = 1; value <= 10; value++) {
+            assertEquals(SAMPLES / (value * harmonic), counts[value], SAMPLES * 0.01);
+        }
+    }
+
+    @Test
+    public void shouldReturnSameSamplesForSameSeed() {
+        Distribution distribution = Distribution.parse("zipf:1.2:200");
+        Random first = new Random(42);
+        Random second = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(distribution.sample(first), distribution.sample(second));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("normal:1"));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("uniform:5"));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("uniform:5:2"));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("fixed:many"));
+    }
+}
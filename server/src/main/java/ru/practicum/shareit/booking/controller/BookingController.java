@@ -4,10 +4,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.CacheTags;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
@@ -37,7 +39,9 @@ public class BookingController {
     public ResponseEntity<BookingDto> addBooking(@RequestHeader(name = "X-Sharer-User-Id") Long bookerId,
                                                  @RequestBody BookingDtoRequest bookingDtoRequest) {
 
-        return new ResponseEntity<>(bookingService.addBooking(bookingDtoRequest, bookerId), HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(CacheTags.PURGE_HEADER, CacheTags.item(bookingDtoRequest.getItemId()))
+                .body(bookingService.addBooking(bookingDtoRequest, bookerId));
     }
 
     /**
@@ -59,6 +63,7 @@ public class BookingController {
 
     /**
      * Получение списка бронирований по заказчику бронирования и статусу объектов с возможностью использования пагинации.
+     * Если ETag из If-None-Match совпадает с текущим, возвращается 304 без тела.
      *
      * @param bookerId - идентификатор пользователя.
      * @param state    - статус запрашиваемых объектов.
@@ -72,14 +77,20 @@ public class BookingController {
             @RequestHeader(name = "X-Sharer-User-Id") Long bookerId,
             @RequestParam String state,
             @RequestParam Integer from,
-            @RequestParam Integer size) {
+            @RequestParam Integer size,
+            WebRequest request) {
+        String eTag = bookingService.getBookingsETag(bookerId, null);
 
-        return ResponseEntity.ok(bookingService.getBookingsByUserAndState(
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookingService.getBookingsByUserAndState(
                 bookerId, null, state, from, size));
     }
 
     /**
      * Получение списка бронирований по владельцу и статусу объектов с возможностью использования пагинации.
+     * Если ETag из If-None-Match совпадает с текущим, возвращается 304 без тела.
      *
      * @param ownerId - идентификатор пользователя.
      * @param state   - статус запрашиваемых объектов.
@@ -93,9 +104,14 @@ public class BookingController {
             @RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
             @RequestParam String state,
             @RequestParam Integer from,
-            @RequestParam Integer size) {
+            @RequestParam Integer size,
+            WebRequest request) {
+        String eTag = bookingService.getBookingsETag(null, ownerId);
 
-        return ResponseEntity.ok(bookingService.getBookingsByUserAndState(
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookingService.getBookingsByUserAndState(
                 null, ownerId, state, from, size));
     }
 
@@ -116,6 +132,10 @@ public class BookingController {
                                                          @PathVariable Long bookingId,
                                                          @RequestParam Boolean approved) {
 
-        return ResponseEntity.ok(bookingService.setApproval(bookingId, approved, requesterId));
+        BookingDto booking = bookingService.setApproval(bookingId, approved, requesterId);
+
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER, CacheTags.item(booking.getItem().getId()))
+                .body(booking);
     }
 }
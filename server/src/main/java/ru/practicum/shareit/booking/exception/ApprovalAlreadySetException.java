@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class ApprovalAlreadySetException extends RuntimeException {
-    public ApprovalAlreadySetException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class ApprovalAlreadySetException extends ShareItException {
+    public ApprovalAlreadySetException(String format, Object... args) {
+        super(format, args);
     }
 }
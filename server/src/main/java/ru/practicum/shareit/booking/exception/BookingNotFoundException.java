@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class BookingNotFoundException extends RuntimeException {
-    public BookingNotFoundException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class BookingNotFoundException extends ShareItException {
+    public BookingNotFoundException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class CantBookOwnedItemException extends RuntimeException {
-    public CantBookOwnedItemException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class CantBookOwnedItemException extends ShareItException {
+    public CantBookOwnedItemException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class CantViewUnrelatedBookingException extends RuntimeException {
-    public CantViewUnrelatedBookingException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class CantViewUnrelatedBookingException extends ShareItException {
+    public CantViewUnrelatedBookingException(String format, Object... args) {
+        super(format, args);
     }
 }
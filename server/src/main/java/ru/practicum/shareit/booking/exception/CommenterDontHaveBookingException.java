@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class CommenterDontHaveBookingException extends RuntimeException {
-    public CommenterDontHaveBookingException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class CommenterDontHaveBookingException extends ShareItException {
+    public CommenterDontHaveBookingException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class EndBeforeOrEqualsStartException extends RuntimeException {
-    public EndBeforeOrEqualsStartException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class EndBeforeOrEqualsStartException extends ShareItException {
+    public EndBeforeOrEqualsStartException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class ItemNotAvailableForBookingException extends RuntimeException {
-    public ItemNotAvailableForBookingException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class ItemNotAvailableForBookingException extends ShareItException {
+    public ItemNotAvailableForBookingException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class TimeWindowOccupiedException extends RuntimeException {
-    public TimeWindowOccupiedException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class TimeWindowOccupiedException extends ShareItException {
+    public TimeWindowOccupiedException(String format, Object... args) {
+        super(format, args);
     }
 }
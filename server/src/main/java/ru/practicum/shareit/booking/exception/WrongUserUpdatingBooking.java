@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.exception;
 
-public class WrongUserUpdatingBooking extends RuntimeException {
-    public WrongUserUpdatingBooking(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class WrongUserUpdatingBooking extends ShareItException {
+    public WrongUserUpdatingBooking(String format, Object... args) {
+        super(format, args);
     }
 }
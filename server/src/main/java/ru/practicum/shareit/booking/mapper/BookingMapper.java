@@ -20,10 +20,12 @@ public interface BookingMapper {
     @Mapping(source = "item", target = "item")
     @Mapping(target = "approved", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking mapToModel(BookingDtoRequest bookingDtoRequest, User booker, Item item);
 
     @Mapping(source = "booking.startTime", target = "start")
     @Mapping(source = "booking.endTime", target = "end")
+    @Mapping(target = "item.comments", ignore = true)
     BookingDto mapToDto(Booking booking, BookingStatus status);
 
     @Mapping(source = "booking.booker.id", target = "bookerId")
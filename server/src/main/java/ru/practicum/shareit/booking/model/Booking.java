@@ -20,7 +20,8 @@ import java.util.Objects;
 @Generated
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long id;
     @ManyToOne
@@ -35,6 +36,9 @@ public class Booking {
     private LocalDateTime endTime;
     @Column(name = "approved")
     private Boolean approved;
+    @Version
+    @Column(name = "version")
+    private Long version;
 
     @Override
     public boolean equals(Object o) {
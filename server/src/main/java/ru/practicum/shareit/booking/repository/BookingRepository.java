@@ -3,19 +3,29 @@ package ru.practicum.shareit.booking.repository;
 import lombok.Generated;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Generated
 public interface BookingRepository extends PagingAndSortingRepository<Booking, Long> {
 
+    /**
+     * Списки бронирований сразу загружают вещь с владельцем и запросом и автора бронирования,
+     * которые нужны для BookingDto. Граф применяется только к выборке страницы, а не к запросу количества.
+     */
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "booker"})
     Page<Booking> getAllByBookerIdOrItemOwnerIdOrderByStartTimeDesc(Long bookerId, Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE (b.booker.id = ?1 OR b.item.owner.id = ?2) " +
             "AND (b.approved = ?3 OR ?3 IS NULL AND b.approved IS NULL)" +
@@ -24,6 +34,7 @@ public interface BookingRepository extends PagingAndSortingRepository<Booking, L
     Page<Booking> getWaitingOrRejectedBookings(
             Long bookerId, Long ownerId, Boolean approved, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE (b.booker.id = ?1 OR b.item.owner.id = ?2) " +
             "AND b.approved IS TRUE " +
@@ -32,13 +43,7 @@ public interface BookingRepository extends PagingAndSortingRepository<Booking, L
     )
     Page<Booking> getPastBookingsByBookerIdOrOwnerId(Long bookerId, Long ownerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = ?1 " +
-            "AND b.endTime < CURRENT_TIMESTAMP " +
-            "ORDER BY b.startTime DESC"
-    )
-    Collection<Booking> getPastBookingsByItemId(long itemId);
-
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE (b.booker.id = ?1 OR b.item.owner.id = ?2) " +
             "AND b.startTime < CURRENT_TIMESTAMP " +
@@ -47,6 +52,7 @@ public interface BookingRepository extends PagingAndSortingRepository<Booking, L
     )
     Page<Booking> getCurrentBookings(Long bookerId, Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE (b.booker.id = ?1 OR b.item.owner.id = ?2) " +
             "AND CURRENT_TIMESTAMP < b.startTime " +
@@ -56,17 +62,64 @@ public interface BookingRepository extends PagingAndSortingRepository<Booking, L
 
     Collection<Booking> getAllByItemOwnerId(long ownerId);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = ?1 " +
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 " +
             "AND (b.approved = TRUE OR b.approved IS NULL) " +
             "AND b.endTime > CURRENT_TIMESTAMP " +
-            "ORDER BY b.startTime ASC"
+            "ORDER BY b.startTime ASC, b.id ASC"
+    )
+    List<Booking> getActiveBookingsByItemIds(Collection<Long> itemIds);
+
+    /**
+     * Последние по времени начала завершившиеся бронирования каждой из вещей. При совпадении времени начала
+     * у вещи может вернуться несколько бронирований.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.endTime < CURRENT_TIMESTAMP " +
+            "AND b.startTime = (SELECT MAX(p.startTime) FROM Booking p " +
+            "WHERE p.item.id = b.item.id AND p.endTime < CURRENT_TIMESTAMP) " +
+            "ORDER BY b.id ASC"
     )
-    Collection<Booking> getActiveBookings(long itemId);
+    List<Booking> getLastPastBookingsByItemIds(Collection<Long> itemIds);
+
+    /**
+     * Все данные для проверки нового бронирования одним запросом: вещь с владельцем и запросом,
+     * а также число неотклоненных незавершенных бронирований, пересекающихся с интервалом (start, end).
+     */
+    @Query("SELECT i AS item, " +
+            "(SELECT COUNT(b.id) FROM Booking b " +
+            "WHERE b.item.id = i.id " +
+            "AND (b.approved = TRUE OR b.approved IS NULL) " +
+            "AND b.endTime > CURRENT_TIMESTAMP " +
+            "AND b.startTime < ?3 AND b.endTime > ?2) AS overlappingBookings " +
+            "FROM Item i JOIN FETCH i.owner LEFT JOIN FETCH i.request " +
+            "WHERE i.id = ?1"
+    )
+    Optional<BookingTargetView> findBookingTarget(long itemId, LocalDateTime start, LocalDateTime end);
 
     @Query("SELECT b FROM Booking b " +
             "WHERE (b.booker.id = ?1 AND b.item.id = ?2) " +
             "AND b.startTime < CURRENT_TIMESTAMP " +
             "AND b.approved IS TRUE")
     Collection<Booking> getApprovedBookingsNotInFuture(long bookerId, long itemId);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN b.startTime <= ?2 THEN 1 ELSE 0 END), 0) + " +
+            "COALESCE(SUM(CASE WHEN b.endTime <= ?2 THEN 1 ELSE 0 END), 0) " +
+            "FROM Booking b WHERE b.item.id = ?1"
+    )
+    long countPassedBoundariesByItemId(long itemId, LocalDateTime now);
+
+    @Query("SELECT COUNT(b) AS bookingCount, COALESCE(MAX(b.id), 0) AS maxBookingId, " +
+            "COALESCE(SUM(b.version), 0) AS bookingsVersion, COALESCE(SUM(i.version), 0) AS itemsVersion, " +
+            "COALESCE(SUM(u.version), 0) AS bookersVersion, " +
+            "(SELECT COALESCE(SUM(c.author.version), 0) FROM Comment c WHERE c.item.id IN " +
+            "(SELECT b2.item.id FROM Booking b2 WHERE b2.booker.id = ?1 OR b2.item.owner.id = ?2)) " +
+            "AS commentAuthorsVersion, " +
+            "COALESCE(SUM(CASE WHEN b.startTime <= ?3 THEN 1 ELSE 0 END), 0) + " +
+            "COALESCE(SUM(CASE WHEN b.endTime <= ?3 THEN 1 ELSE 0 END), 0) AS passedBoundaries " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.booker.id = ?1 OR i.owner.id = ?2"
+    )
+    BookingsVersionView getBookingsVersion(Long bookerId, Long ownerId, LocalDateTime now);
 }
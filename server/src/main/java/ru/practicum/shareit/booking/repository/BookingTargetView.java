@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Бронируемая вещь вместе с владельцем и число активных бронирований, пересекающихся с запрошенным интервалом.
+ */
+public interface BookingTargetView {
+
+    Item getItem();
+
+    Long getOverlappingBookings();
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+public interface BookingsVersionView {
+
+    Long getBookingCount();
+
+    Long getMaxBookingId();
+
+    Long getBookingsVersion();
+
+    Long getItemsVersion();
+
+    Long getBookersVersion();
+
+    Long getCommentAuthorsVersion();
+
+    Long getPassedBoundaries();
+}
@@ -23,4 +23,11 @@ public interface BookingService {
     BookingDto setApproval(long bookingId, boolean approved, long requesterId);
 
     Map<ActualItemBooking, BookingDtoShort> getLastAndNextBookingByItem(Item item, long requesterId);
+
+    Map<Long, Map<ActualItemBooking, BookingDtoShort>> getLastAndNextBookingsByItems(
+            Collection<Item> items, long requesterId);
+
+    long countPassedBookingBoundaries(long itemId);
+
+    String getBookingsETag(Long bookerId, Long ownerId);
 }
@@ -13,7 +13,13 @@ import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingTargetView;
+import ru.practicum.shareit.booking.repository.BookingsVersionView;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -38,97 +44,90 @@ public class BookingServiceImpl implements BookingService {
     private final UserService userService;
     private final BookingMapper mapper;
     private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
 
     @Override
     public boolean neverMadeBookings(long bookerId, long itemId) {
         return bookingRepository.getApprovedBookingsNotInFuture(bookerId, itemId).isEmpty();
     }
 
+    /**
+     * Вещь с владельцем и пересекающиеся бронирования читаются одним запросом findBookingTarget,
+     * автор бронирования берется через UserService (обычно из кэша пользователей). Вещь остается в контексте
+     * сохранения, поэтому увеличение ее версии не требует повторного чтения.
+     */
     @Override
     @Transactional
     public BookingDto addBooking(BookingDtoRequest bookingDto, long bookerId) {
         LocalDateTime start = bookingDto.getStart();
         LocalDateTime end = bookingDto.getEnd();
         long itemId = bookingDto.getItemId();
-        long itemOwnerId;
-        Booking booking;
-        Optional<Item> itemOptional;
+        Optional<BookingTargetView> targetOptional;
         Item item;
+        Booking booking;
 
         if (end.isBefore(start) || end.equals(start)) {
-            throw new EndBeforeOrEqualsStartException(String.format(
+            throw new EndBeforeOrEqualsStartException(
                     "Ошибка при добавлении бронирования для вещи с id=%d от пользователя с id=%d: " +
                             "дата окончания бронирования раньше или равна дате начала.",
                     itemId,
                     bookerId
-            ));
+            );
         }
 
-        itemOptional = itemRepository.findById(itemId);
-        if (itemOptional.isEmpty()) {
-            throw new ItemNotFoundException(String.format("Ошибка получения: вещь с id=%d не найдена.", itemId));
+        targetOptional = bookingRepository.findBookingTarget(itemId, start, end);
+        if (targetOptional.isEmpty()) {
+            throw new ItemNotFoundException("Ошибка получения: вещь с id=%d не найдена.", itemId);
         }
-        item = itemOptional.get();
+        item = targetOptional.get().getItem();
+        booking = mapper.mapToModel(bookingDto, userService.getUser(bookerId), item);
 
-        booking = mapper.mapToModel(
-                bookingDto,
-                userService.getUser(bookerId),
-                item);
-
-        item = booking.getItem();
-        itemId = item.getId();
-        itemOwnerId = item.getOwner().getId();
+        if (item.getOwner().getId() == bookerId) {
+            throw new CantBookOwnedItemException(
+                    "Ошибка добавления бронирования: " +
+                            "попытка пользователя с id=%d забронировать собственную вещь.", bookerId
+            );
 
-        if (itemOwnerId != bookerId && itemRepository.existsItemByIdAndAvailableIsTrue(itemId)) {
-            if (isTimeWindowFree(booking)) {
-                log.debug("Добавлено новое бронирование: {}", booking);
-                return mapper.mapToDto(bookingRepository.save(booking), this.determineStatus(booking));
+        } else if (!Boolean.TRUE.equals(item.getAvailable())) {
+            throw new ItemNotAvailableForBookingException(
+                    "Ошибка добавления бронирования: " +
+                            "вещь с id=%d недоступна для бронирования.", itemId);
 
-            } else throw new TimeWindowOccupiedException(
-                    String.format("Ошибка при добавлении бронирования с %s по %s: " +
+        } else if (targetOptional.get().getOverlappingBookings() > 0) {
+            throw new TimeWindowOccupiedException(
+                    "Ошибка при добавлении бронирования с %s по %s: " +
                                     "временной промежуток полностью или частично занят.",
-                            booking.getStartTime(), booking.getEndTime()));
+                            booking.getStartTime(), booking.getEndTime());
+        }
 
-        } else if (itemOwnerId == bookerId) {
-            throw new CantBookOwnedItemException(String.format(
-                    "Ошибка добавления бронирования: " +
-                            "попытка пользователя с id=%d забронировать собственную вещь.", bookerId
-            ));
+        booking = bookingRepository.save(booking);
+        itemRepository.incrementVersion(item);
 
-        } else throw new ItemNotAvailableForBookingException(
-                String.format("Ошибка добавления бронирования: " +
-                        "вещь с id=%d недоступна для бронирования.", itemId));
+        log.debug("Добавлено новое бронирование: {}", booking);
+        return this.mapToDtos(List.of(booking)).get(0);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public BookingDto getBookingDto(long bookingId, long requesterId) {
         Booking booking = this.getBooking(bookingId);
 
         if (requesterId == booking.getBooker().getId() || requesterId == booking.getItem().getOwner().getId()) {
-            return mapper.mapToDto(booking, this.determineStatus(booking));
+            return this.mapToDtos(List.of(booking)).get(0);
 
         } else throw new CantViewUnrelatedBookingException(
-                String.format("Ошибка: попытка получения информации о бронировании с id=%d пользователем с id=%d, " +
+                "Ошибка: попытка получения информации о бронировании с id=%d пользователем с id=%d, " +
                         "не являющимся автором бронирования или владельцем вещи.", bookingId, requesterId
-                ));
+                );
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Collection<BookingDto> getBookingsByUserAndState(
             Long bookerId, Long ownerId, String state, int startingIndex, Integer collectionSize) {
-        if (ownerId != null && userService.userNotFound(ownerId)) {
-            throw new UserNotFoundException(
-                    String.format("Ошибка при получении бронирований по владельцу вещи: " +
-                            "пользователя с id=%d не существует.", ownerId));
-        }
+        checkUsersExist(bookerId, ownerId);
 
-        if (bookerId != null && userService.userNotFound(bookerId)) {
-            throw new UserNotFoundException(
-                    String.format("Ошибка при получении бронирований по автору: " +
-                            "пользователя с id=%d не существует.", bookerId));
-        }
         if (collectionSize == null) {
             collectionSize = Integer.MAX_VALUE;
         }
@@ -161,10 +160,9 @@ public class BookingServiceImpl implements BookingService {
         } else {
             collection = bookingRepository.getCurrentBookings(bookerId, ownerId, pageable).getContent();
         }
-        return collection.stream()
+        return this.mapToDtos(collection.stream()
                 .skip(startingIndex)
-                .map(booking -> mapper.mapToDto(booking, this.determineStatus(booking)))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .collect(Collectors.toList()));
 
     }
 
@@ -173,83 +171,118 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto setApproval(long bookingId, boolean approved, long requesterId) {
         Booking booking = this.getBooking(bookingId);
         if (booking.getItem().getOwner().getId() != requesterId) {
-            throw new WrongUserUpdatingBooking(String.format("Ошибка: попытка изменить статус одобрения бронирования " +
-                    "со стороны пользователя с id=%d, не являющегося владельцем бронируемой вещи.", requesterId));
+            throw new WrongUserUpdatingBooking("Ошибка: попытка изменить статус одобрения бронирования " +
+                    "со стороны пользователя с id=%d, не являющегося владельцем бронируемой вещи.", requesterId);
 
         } else if (booking.getApproved() != null) {
-            throw new ApprovalAlreadySetException(String.format(
-                    "Ошибка: статус одобрения бронирования с id=%d уже был изменен ранее.", bookingId));
+            throw new ApprovalAlreadySetException(
+                    "Ошибка: статус одобрения бронирования с id=%d уже был изменен ранее.", bookingId);
         }
         booking.setApproved(approved);
+        itemRepository.incrementVersion(booking.getItem());
 
         log.debug("Одобрение бронирования с id={} изменено на {}", bookingId, approved);
-        return mapper.mapToDto(booking, this.determineStatus(booking));
+        return this.mapToDtos(List.of(booking)).get(0);
     }
 
     @Override
     public Map<ActualItemBooking, BookingDtoShort> getLastAndNextBookingByItem(Item item, long requesterId) {
-        Map<ActualItemBooking, BookingDtoShort> bookingsMap;
-
-        if (item.getOwner().getId() == requesterId) {
-            List<Booking> currentAndFutureBookings = new ArrayList<>(
-                    bookingRepository.getActiveBookings(item.getId()));
-            bookingsMap = new HashMap<>();
-            Booking lastBooking = null;
-            Booking nextBooking = null;
-
-            if (currentAndFutureBookings.size() > 1) {
-                if (currentAndFutureBookings.get(0).getStartTime().isBefore(LocalDateTime.now())) {
-                    lastBooking = currentAndFutureBookings.get(0);
-                    nextBooking = currentAndFutureBookings.get(1);
-
-                } else {
-                    nextBooking = currentAndFutureBookings.get(0);
-                    lastBooking = getLastBooking(item);
-                }
-
-            } else if (currentAndFutureBookings.size() == 1) {
-                if (currentAndFutureBookings.get(0).getStartTime().isBefore(LocalDateTime.now())) {
-                    lastBooking = currentAndFutureBookings.get(0);
+        return this.getLastAndNextBookingsByItems(List.of(item), requesterId).get(item.getId());
+    }
 
-                } else {
-                    nextBooking = currentAndFutureBookings.get(0);
-                    lastBooking = getLastBooking(item);
-                }
-            }
-            bookingsMap.put(ActualItemBooking.LAST, mapper.mapToShortDto(lastBooking));
-            bookingsMap.put(ActualItemBooking.NEXT, mapper.mapToShortDto(nextBooking));
+    /**
+     * Последнее и следующее бронирования видны только владельцу вещи. Активные (текущие и будущие) бронирования
+     * всех вещей владельца читаются одним запросом; прошедшие - вторым, и только для вещей, у которых
+     * ближайшее активное бронирование еще не началось. Число запросов не зависит от числа вещей.
+     */
+    @Override
+    public Map<Long, Map<ActualItemBooking, BookingDtoShort>> getLastAndNextBookingsByItems(
+            Collection<Item> items, long requesterId) {
+        Map<Long, Map<ActualItemBooking, BookingDtoShort>> bookingsByItem = new HashMap<>();
+        List<Long> ownedItemIds = new ArrayList<>();
 
-        } else {
-            bookingsMap = new HashMap<>();
+        for (Item item : items) {
+            Map<ActualItemBooking, BookingDtoShort> bookingsMap = new HashMap<>();
             bookingsMap.put(LAST, null);
             bookingsMap.put(NEXT, null);
+            bookingsByItem.put(item.getId(), bookingsMap);
+
+            if (item.getOwner().getId() == requesterId) {
+                ownedItemIds.add(item.getId());
+            }
         }
-        return bookingsMap;
-    }
 
-    private boolean isTimeWindowFree(Booking booking) {
-        List<Booking> activeBookings = new ArrayList<>(
-                bookingRepository.getActiveBookings(booking.getItem().getId()));
-        final LocalDateTime startTime = booking.getStartTime();
-        final LocalDateTime endTime = booking.getEndTime();
-        LocalDateTime leftBorder = LocalDateTime.now();
-        LocalDateTime rightBorder;
+        if (ownedItemIds.isEmpty()) {
+            return bookingsByItem;
+        }
 
-        if (activeBookings.size() > 0) {
-            for (Booking activeBooking : activeBookings) {
-                rightBorder = activeBooking.getStartTime();
+        Map<Long, List<Booking>> activeBookings = bookingRepository.getActiveBookingsByItemIds(ownedItemIds).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemsWithoutCurrentBooking = new ArrayList<>();
 
-                if (leftBorder.isBefore(startTime) && rightBorder.isAfter(endTime)) {
-                    return true;
+        for (Map.Entry<Long, List<Booking>> entry : activeBookings.entrySet()) {
+            List<Booking> currentAndFutureBookings = entry.getValue();
+            Map<ActualItemBooking, BookingDtoShort> bookingsMap = bookingsByItem.get(entry.getKey());
 
-                } else if (leftBorder.isAfter(endTime)) {
-                    return false;
+            if (currentAndFutureBookings.get(0).getStartTime().isBefore(now)) {
+                bookingsMap.put(LAST, mapper.mapToShortDto(currentAndFutureBookings.get(0)));
+                if (currentAndFutureBookings.size() > 1) {
+                    bookingsMap.put(NEXT, mapper.mapToShortDto(currentAndFutureBookings.get(1)));
                 }
-                leftBorder = rightBorder;
+
+            } else {
+                bookingsMap.put(NEXT, mapper.mapToShortDto(currentAndFutureBookings.get(0)));
+                itemsWithoutCurrentBooking.add(entry.getKey());
+            }
+        }
+
+        if (!itemsWithoutCurrentBooking.isEmpty()) {
+            for (Booking lastBooking : bookingRepository.getLastPastBookingsByItemIds(itemsWithoutCurrentBooking)) {
+                bookingsByItem.get(lastBooking.getItem().getId())
+                        .putIfAbsent(LAST, mapper.mapToShortDto(lastBooking));
             }
-            return leftBorder.isBefore(startTime);
+        }
+        return bookingsByItem;
+    }
+
+    @Override
+    public long countPassedBookingBoundaries(long itemId) {
+        return bookingRepository.countPassedBoundariesByItemId(itemId, LocalDateTime.now());
+    }
+
+    /**
+     * ETag списка бронирований пользователя строится из одного агрегирующего запроса: количества, версий
+     * бронирований и связанных вещей и пользователей, а также числа уже наступивших начал и окончаний бронирований,
+     * от которых зависит разбиение на текущие, прошедшие и будущие.
+     */
+    @Override
+    public String getBookingsETag(Long bookerId, Long ownerId) {
+        checkUsersExist(bookerId, ownerId);
+        BookingsVersionView version = bookingRepository.getBookingsVersion(bookerId, ownerId, LocalDateTime.now());
+
+        return EntityTags.of(bookerId != null ? "bookings" : "owner-bookings",
+                version.getBookingCount(),
+                version.getMaxBookingId(),
+                version.getBookingsVersion(),
+                version.getItemsVersion(),
+                version.getBookersVersion(),
+                version.getCommentAuthorsVersion(),
+                version.getPassedBoundaries());
+    }
 
-        } else return true;
+    private void checkUsersExist(Long bookerId, Long ownerId) {
+        if (ownerId != null && userService.userNotFound(ownerId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении бронирований по владельцу вещи: " +
+                            "пользователя с id=%d не существует.", ownerId);
+        }
+
+        if (bookerId != null && userService.userNotFound(bookerId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении бронирований по автору: " +
+                            "пользователя с id=%d не существует.", bookerId);
+        }
     }
 
     private BookingStatus determineStatus(Booking booking) {
@@ -269,19 +302,34 @@ public class BookingServiceImpl implements BookingService {
 
         if (bookingOptional.isPresent()) {
             return bookingOptional.get();
-        } else throw new BookingNotFoundException(String.format(
-                "Ошибка при получении бронирования: объект с id=%d не найден.", bookingId));
+        } else throw new BookingNotFoundException(
+                "Ошибка при получении бронирования: объект с id=%d не найден.", bookingId);
     }
 
-    private Booking getLastBooking(Item item) {
-        List<Booking> pastBookings = new ArrayList<>(bookingRepository.getPastBookingsByItemId(item.getId()));
-        Booking lastBooking = null;
-
-        if (!pastBookings.isEmpty()) {
-            lastBooking = pastBookings.get(0);
-
+    /**
+     * Комментарии к вещам бронирований загружаются одним запросом для всего списка, а не через ленивую
+     * коллекцию item.comments каждой вещи.
+     */
+    private List<BookingDto> mapToDtos(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
         }
-        return lastBooking;
+
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository.findAllByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::mapToDto, Collectors.toList())));
+
+        return bookings.stream()
+                .map(booking -> {
+                    BookingDto bookingDto = mapper.mapToDto(booking, this.determineStatus(booking));
+                    bookingDto.getItem().setComments(
+                            commentsByItem.getOrDefault(booking.getItem().getId(), List.of()));
+                    return bookingDto;
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
     private BookingStatus parseStatus(String state) {
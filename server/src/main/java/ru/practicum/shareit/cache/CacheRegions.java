@@ -0,0 +1,21 @@
+package ru.practicum.shareit.cache;
+
+import java.util.List;
+
+/**
+ * Регионы второго уровня кэша Hibernate. Сущности указывают свой регион в аннотации @Cache,
+ * а SecondLevelCacheConfig создает регионы с ограничением размера и временем жизни из настроек.
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> EXPIRING = List.of(USERS, ITEMS, REQUESTS, QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Теги для кэша ответов шлюза. Ответы, которые шлюз может кэшировать, помечаются заголовком X-Cache-Tags,
+ * а ответы на изменяющие запросы — заголовком X-Cache-Purge со списком тегов, которые нужно сбросить.
+ */
+public final class CacheTags {
+
+    public static final String TAGS_HEADER = "X-Cache-Tags";
+    public static final String PURGE_HEADER = "X-Cache-Purge";
+
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    private CacheTags() {
+    }
+
+    public static String item(long itemId) {
+        return "item:" + itemId;
+    }
+
+    public static String join(String... tags) {
+        return String.join(",", new LinkedHashSet<>(Arrays.asList(tags)));
+    }
+
+    public static String join(String tag, Collection<String> otherTags) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(tag);
+        tags.addAll(otherTags);
+        return String.join(",", tags);
+    }
+}
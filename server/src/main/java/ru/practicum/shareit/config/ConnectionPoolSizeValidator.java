@@ -0,0 +1,59 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Проверка при запуске, что число потоков Tomcat согласовано с размером пула соединений.
+ * Если потоков намного больше соединений, запросы под нагрузкой ждут соединения в пуле
+ * (рост hikaricp.connections.pending и hikaricp.connections.acquire), а не базу данных.
+ * Если соединений больше потоков, лишние соединения только занимают ресурсы базы.
+ */
+@Component
+@Slf4j
+public class ConnectionPoolSizeValidator {
+
+    private final DataSource dataSource;
+    private final int tomcatThreads;
+    private final int maxThreadsPerConnection;
+
+    public ConnectionPoolSizeValidator(
+            DataSource dataSource,
+            @Value("${server.tomcat.threads.max:200}") int tomcatThreads,
+            @Value("${shareit.datasource.max-threads-per-connection:8}") int maxThreadsPerConnection) {
+        this.dataSource = dataSource;
+        this.tomcatThreads = tomcatThreads;
+        this.maxThreadsPerConnection = maxThreadsPerConnection;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate(ApplicationReadyEvent event) throws SQLException {
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext)
+                || !dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+
+        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        if (poolSize > tomcatThreads) {
+            log.warn("Пул соединений ({}) больше числа потоков Tomcat ({}): лишние соединения простаивают. " +
+                    "Проверьте spring.datasource.hikari.maximum-pool-size.", poolSize, tomcatThreads);
+
+        } else if (tomcatThreads > (long) poolSize * maxThreadsPerConnection) {
+            log.warn("Потоков Tomcat ({}) больше {} на соединение пула ({}): под нагрузкой запросы будут ждать " +
+                            "соединения. Проверьте server.tomcat.threads.max и " +
+                            "spring.datasource.hikari.maximum-pool-size.",
+                    tomcatThreads, maxThreadsPerConnection, poolSize);
+
+        } else {
+            log.info("Пул соединений: {}, потоков Tomcat: {}.", poolSize, tomcatThreads);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Тестовый режим: любая ленивая загрузка вне транзакции завершается LazyInitializationException.
+ * Включается свойством shareit.jpa.fail-on-lazy-load-outside-transaction (в профилях ci и test).
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.jpa.fail-on-lazy-load-outside-transaction", havingValue = "true")
+public class LazyLoadGuardConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer lazyLoadGuardCustomizer() {
+        IntegratorProvider integrators = () -> List.of(new LazyLoadOutsideTransactionGuard());
+        return hibernateProperties -> hibernateProperties.put(
+                EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integrators);
+    }
+}
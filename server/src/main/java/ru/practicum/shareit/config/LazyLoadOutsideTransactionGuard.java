@@ -0,0 +1,48 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Запрещает ленивую загрузку коллекций и прокси сущностей в сессии без активной транзакции. Такие загрузки
+ * проходят мимо явных планов выборки сервисов (например, при открытой сессии на время запроса или
+ * hibernate.enable_lazy_load_no_trans) и дают скрытые запросы N+1, поэтому в тестах они должны падать.
+ */
+class LazyLoadOutsideTransactionGuard implements Integrator, InitializeCollectionEventListener, LoadEventListener {
+
+    @Override
+    public void integrate(Metadata metadata,
+                          SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.INIT_COLLECTION, this);
+        registry.prependListeners(EventType.LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        if (!event.getSession().isTransactionInProgress()) {
+            throw new LazyInitializationException(String.format(
+                    "Ленивая загрузка коллекции %s вне транзакции.", event.getCollection().getRole()));
+        }
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) throws HibernateException {
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD && !event.getSession().isTransactionInProgress()) {
+            throw new LazyInitializationException(String.format(
+                    "Ленивая загрузка сущности %s с id=%s вне транзакции.",
+                    event.getEntityClassName(), event.getEntityId()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.cache.CacheRegions;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Второй уровень кэша Hibernate на Caffeine через JCache. Регионы создаются заранее с ограничением размера
+ * и временем жизни, а Hibernate настроен не создавать неизвестные регионы, поэтому каждая кэшируемая
+ * сущность должна иметь регион в CacheRegions. Статистика регионов публикуется в метриках actuator
+ * (hibernate.second.level.cache.*) через hibernate-micrometer.
+ * Тестовые срезы @DataJpaTest не сканируют конфигурации приложения и подключают этот класс через @Import.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Каждый контекст приложения получает собственный менеджер кэшей, чтобы несколько контекстов
+     * в одной JVM (например, в тестах) не делили регионы между разными базами данных.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("shareit:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : CacheRegions.EXPIRING) {
+            SecondLevelCacheProperties.Region settings = properties.getRegion(region);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(settings.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(settings.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+
+        // Метки изменения таблиц не вытесняются: без них кэш запросов мог бы вернуть устаревший результат.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
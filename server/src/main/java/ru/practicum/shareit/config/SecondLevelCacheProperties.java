@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки регионов второго уровня кэша Hibernate: максимальное число записей
+ * и время жизни записи после добавления или обновления.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.second-level-cache")
+public class SecondLevelCacheProperties {
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region getRegion(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
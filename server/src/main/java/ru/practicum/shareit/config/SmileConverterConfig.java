@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Бинарный формат Smile для обмена со шлюзом. Ответ в Smile отдается только при явном запросе
+ * через заголовок Accept, остальные клиенты по-прежнему получают JSON.
+ */
+@Configuration
+public class SmileConverterConfig {
+
+    /**
+     * Конвертер строится из того же настроенного Spring Boot билдера, что и JSON-конвертер,
+     * чтобы даты и прочие настройки сериализации совпадали в обоих форматах.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.etag;
+
+import java.util.StringJoiner;
+
+/**
+ * Формирование строгих ETag из версий сущностей и агрегатов, полученных из базы.
+ * Тело ответа для вычисления ETag не строится, поэтому при совпадении ETag ответ 304 обходится
+ * без загрузки сущностей и маппинга в DTO.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(String resource, Object... parts) {
+        StringJoiner joiner = new StringJoiner("-", "\"" + resource + "-", "\"");
+
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+}
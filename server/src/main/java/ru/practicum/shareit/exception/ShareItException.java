@@ -0,0 +1,36 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Базовый класс бизнес-исключений, которые выбрасываются в обычном потоке обработки запроса и превращаются
+ * в ответ с ошибкой в GlobalExceptionHandler. Стек вызовов не заполняется: он не попадает ни в ответ,
+ * ни в журнал, а его снятие на глубоком стеке Spring дороже остальной обработки ошибки. Сообщение
+ * форматируется по шаблону String.format только при первом обращении к getMessage.
+ */
+public abstract class ShareItException extends RuntimeException {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String format;
+    private final Object[] args;
+    private String message;
+
+    /**
+     * @param format готовое сообщение или, если переданы аргументы, шаблон String.format
+     */
+    protected ShareItException(String format, Object... args) {
+        super(null, null, false, false);
+        this.format = format;
+        this.args = args == null ? NO_ARGS : args;
+    }
+
+    @Override
+    public String getMessage() {
+        String result = message;
+
+        if (result == null) {
+            result = args.length == 0 ? format : String.format(format, args);
+            message = result;
+        }
+        return result;
+    }
+}
@@ -20,6 +20,16 @@ import ru.practicum.shareit.user.exception.UserNotFoundException;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Имя ошибки в ответе - простое имя класса исключения, вычисляется один раз для каждого класса.
+     */
+    private static final ClassValue<String> ERROR_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName();
+        }
+    };
+
     @ExceptionHandler({
             EmptyItemPatchRequestException.class,
             EmptyUserPatchRequestException.class,
@@ -30,29 +40,14 @@ public class GlobalExceptionHandler {
             CommenterDontHaveBookingException.class
     })
     ResponseEntity<ErrorResponse> handleBadRequestExceptions(final Exception e) {
-        String exceptionName = e.getClass().getName();
-        String exceptionMessage = e.getMessage();
-        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
-
-        log.debug(e.getMessage());
-        return new ResponseEntity<>(
-                new ErrorResponse(exceptionName, exceptionMessage),
-                HttpStatus.BAD_REQUEST
-        );
+        return makeResponse(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler({
             WrongOwnerUpdatingItemException.class
     })
     ResponseEntity<ErrorResponse> handleForbiddenExceptions(final RuntimeException e) {
-        String exceptionName = e.getClass().getName();
-        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
-        log.debug(e.getMessage());
-
-        return new ResponseEntity<>(
-                new ErrorResponse(exceptionName, e.getMessage()),
-                HttpStatus.FORBIDDEN
-        );
+        return makeResponse(e, HttpStatus.FORBIDDEN);
     }
 
     @ExceptionHandler({
@@ -65,14 +60,7 @@ public class GlobalExceptionHandler {
             RequestNotFoundException.class
     })
     ResponseEntity<ErrorResponse> handleNotFoundExceptions(final RuntimeException e) {
-        String exceptionName = e.getClass().getName();
-        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
-        log.debug(e.getMessage());
-
-        return new ResponseEntity<>(
-                new ErrorResponse(exceptionName, e.getMessage()),
-                HttpStatus.NOT_FOUND
-        );
+        return makeResponse(e, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler({
@@ -80,14 +68,17 @@ public class GlobalExceptionHandler {
             TimeWindowOccupiedException.class
     })
     ResponseEntity<ErrorResponse> handleConflictExceptions(final RuntimeException e) {
-        String exceptionName = e.getClass().getName();
-        exceptionName = exceptionName.substring(exceptionName.lastIndexOf(".") + 1);
-        log.debug(e.getMessage());
+        return makeResponse(e, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Сообщение исключения форматируется один раз и используется и в журнале, и в ответе.
+     */
+    private ResponseEntity<ErrorResponse> makeResponse(Exception e, HttpStatus status) {
+        String exceptionMessage = e.getMessage();
 
-        return new ResponseEntity<>(
-                new ErrorResponse(exceptionName, e.getMessage()),
-                HttpStatus.CONFLICT
-        );
+        log.debug(exceptionMessage);
+        return new ResponseEntity<>(new ErrorResponse(ERROR_NAMES.get(e.getClass()), exceptionMessage), status);
     }
 
     @Getter
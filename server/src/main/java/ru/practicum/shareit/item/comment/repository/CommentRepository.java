@@ -1,9 +1,20 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.comment.model.Comment;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+import java.util.Collection;
+import java.util.List;
 
+public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    /**
+     * Комментарии сразу нескольких вещей вместе с авторами одним запросом.
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.id"
+    )
+    List<Comment> findAllByItemIds(Collection<Long> itemIds);
 }
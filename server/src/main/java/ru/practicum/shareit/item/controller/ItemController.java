@@ -5,7 +5,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.exception.CommenterDontHaveBookingException;
+import ru.practicum.shareit.cache.CacheTags;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.EmptyItemPatchRequestException;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/items")
@@ -36,7 +39,13 @@ public class ItemController {
     public ResponseEntity<ItemDto> addItem(@RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
                                            @RequestBody ItemDto itemDto) {
 
-        return new ResponseEntity<>(itemService.addItem(itemDto, ownerId), HttpStatus.CREATED);
+        ItemDto addedItem = itemService.addItem(itemDto, ownerId);
+        String purgeTags = addedItem.getRequestId() == null
+                ? CacheTags.ITEMS : CacheTags.join(CacheTags.ITEMS, CacheTags.REQUESTS);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(CacheTags.PURGE_HEADER, purgeTags)
+                .body(addedItem);
     }
 
     /**
@@ -55,21 +64,35 @@ public class ItemController {
                                                  @PathVariable Long itemId,
                                                  @RequestBody CommentDto commentDto) {
 
-        return ResponseEntity.ok(itemService.addComment(commentDto, authorId, itemId));
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER, CacheTags.item(itemId))
+                .body(itemService.addComment(commentDto, authorId, itemId));
     }
 
     /**
      * Получение существующей вещи.
      *
+     * Если ETag из If-None-Match совпадает с текущим, возвращается 304 без тела.
+     *
      * @param id          - идентификатор существующей вещи.
      * @param requesterId - идентификатор пользователя.
      * @return DTO существующей вещи.
      * @throws ItemNotFoundException - если вещь с указанным id не найдена.
+     * @throws UserNotFoundException - если пользователя с указанным requesterId не существует.
      */
     @GetMapping(path = "/{id}")
     public ResponseEntity<ItemDto> getItem(@RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
-                                           @PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemDto(id, requesterId));
+                                           @PathVariable Long id,
+                                           WebRequest request) {
+        String eTag = itemService.getItemETag(id, requesterId);
+
+        if (eTag == null) {
+            return ResponseEntity.ok(itemService.getItemDto(id, requesterId));
+
+        } else if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(itemService.getItemDto(id, requesterId));
     }
 
     /**
@@ -94,6 +117,7 @@ public class ItemController {
      * @param ownerId - идентификатор пользователя.
      * @param text    - текст поискового запроса. Не может быть пустым либо содержать только пробелы.
      * @return Список найденных вещей. При пустом запросе либо отсутствии результатов возвращается пустой список.
+     * Ответ помечается тегами для кэша шлюза: общим тегом вещей и тегами каждой найденной вещи.
      */
     @GetMapping(path = "/search")
     public ResponseEntity<Collection<ItemDto>> searchAvailableItems(
@@ -102,7 +126,12 @@ public class ItemController {
             @RequestParam Integer from,
             @RequestParam Integer size) {
 
-        return ResponseEntity.ok(itemService.searchAvailableItems(ownerId, text, from, size));
+        Collection<ItemDto> items = itemService.searchAvailableItems(ownerId, text, from, size);
+        String tags = CacheTags.join(CacheTags.ITEMS, items.stream()
+                .map(item -> CacheTags.item(item.getId()))
+                .collect(Collectors.toList()));
+
+        return ResponseEntity.ok().header(CacheTags.TAGS_HEADER, tags).body(items);
     }
 
     /**
@@ -125,6 +154,9 @@ public class ItemController {
                                               @PathVariable Long itemId,
                                               @RequestBody ItemDto itemDto) {
 
-        return ResponseEntity.ok(itemService.updateItem(itemDto, itemId, ownerId));
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER,
+                        CacheTags.join(CacheTags.ITEMS, CacheTags.item(itemId), CacheTags.REQUESTS))
+                .body(itemService.updateItem(itemDto, itemId, ownerId));
     }
 }
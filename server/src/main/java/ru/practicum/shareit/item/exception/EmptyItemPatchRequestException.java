@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.exception;
 
-public class EmptyItemPatchRequestException extends RuntimeException {
-    public EmptyItemPatchRequestException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class EmptyItemPatchRequestException extends ShareItException {
+    public EmptyItemPatchRequestException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.exception;
 
-public class ItemNotFoundException extends RuntimeException {
-    public ItemNotFoundException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class ItemNotFoundException extends ShareItException {
+    public ItemNotFoundException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.exception;
 
-public class WrongOwnerUpdatingItemException extends RuntimeException {
-    public WrongOwnerUpdatingItemException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class WrongOwnerUpdatingItemException extends ShareItException {
+    public WrongOwnerUpdatingItemException(String format, Object... args) {
+        super(format, args);
     }
 }
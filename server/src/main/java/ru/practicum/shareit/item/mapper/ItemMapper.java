@@ -4,12 +4,16 @@ import lombok.Generated;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.RequestItemView;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring", uses = CommentMapper.class)
 @Generated
 public interface ItemMapper {
@@ -18,17 +22,32 @@ public interface ItemMapper {
     @Mapping(source = "itemDto.name", target = "name")
     @Mapping(target = "bookings", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(source = "itemDto.description", target = "description")
     Item mapToModel(ItemDto itemDto, User owner, ItemRequest request);
 
     @Mapping(source = "item.id", target = "id")
     @Mapping(source = "item.request.id", target = "requestId")
+    @Mapping(target = "comments", ignore = true)
     ItemDto mapToDto(Item item, BookingDtoShort lastBooking, BookingDtoShort nextBooking);
 
+    /**
+     * Комментарии передаются уже загруженными: маппер не обращается к ленивой коллекции item.comments.
+     */
+    @Mapping(source = "item.id", target = "id")
+    @Mapping(source = "item.request.id", target = "requestId")
+    @Mapping(source = "comments", target = "comments")
+    ItemDto mapToDto(Item item, BookingDtoShort lastBooking, BookingDtoShort nextBooking, List<CommentDto> comments);
+
     @Mapping(source = "item.id", target = "id")
     @Mapping(source = "item.request.id", target = "requestId")
     @Mapping(target = "lastBooking", ignore = true)
     @Mapping(target = "nextBooking", ignore = true)
     @Mapping(target = "comments", ignore = true)
     ItemDto mapToShortDto(Item item);
+
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    ItemDto mapToShortDto(RequestItemView item);
 }
\ No newline at end of file
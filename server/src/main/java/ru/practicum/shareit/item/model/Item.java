@@ -2,7 +2,10 @@ package ru.practicum.shareit.item.model;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -18,12 +21,15 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEMS)
 @Table(name = "items")
 @Generated
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
     @ManyToOne
@@ -35,6 +41,9 @@ public class Item {
     private String description;
     @Column(name = "available")
     private Boolean available;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @ManyToOne
     @JoinColumn(name = "for_request", referencedColumnName = "request_id")
     private ItemRequest request;
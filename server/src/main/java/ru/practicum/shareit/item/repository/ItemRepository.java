@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.repository;
 import lombok.Generated;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
@@ -10,14 +11,18 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 @Generated
 public interface ItemRepository extends PagingAndSortingRepository<Item, Long>, ItemRepositoryCustom {
 
-    boolean existsItemByIdAndAvailableIsTrue(long itemId);
-
+    @EntityGraph(attributePaths = {"owner", "request"})
     Page<Item> findAllByOwnerId(Long id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request"})
     @Query(value = "SELECT i FROM Item i " +
             "WHERE (LOWER(i.name) LIKE CONCAT('%', LOWER(?1), '%')" +
             "OR LOWER(i.description) LIKE CONCAT('%', LOWER(?1), '%'))" +
@@ -27,4 +32,42 @@ public interface ItemRepository extends PagingAndSortingRepository<Item, Long>,
 
     @Transactional
     void deleteAllByOwner(User owner);
+
+    /**
+     * Вещи, добавленные в ответ на любой из запросов, одним запросом к базе.
+     */
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId " +
+            "FROM Item i WHERE i.request.id IN ?1 " +
+            "ORDER BY i.id"
+    )
+    List<RequestItemView> findAllByRequestIds(Collection<Long> requestIds);
+
+    @Query("SELECT i.owner.id AS ownerId, i.version AS version, " +
+            "(SELECT COALESCE(SUM(c.author.version), 0) FROM Comment c WHERE c.item.id = i.id) " +
+            "AS commentAuthorsVersion " +
+            "FROM Item i WHERE i.id = ?1"
+    )
+    Optional<ItemVersionView> findVersionById(long itemId);
+
+    /**
+     * Запросы, на которые владелец добавлял ответные вещи.
+     */
+    @Query("SELECT DISTINCT i.request.id FROM Item i WHERE i.owner.id = ?1 AND i.request IS NOT NULL")
+    List<Long> findAnsweredRequestIdsByOwnerId(long ownerId);
+
+    /**
+     * Доступные вещи по возрастанию id после указанного, для начальной загрузки индекса сопоставления.
+     */
+    @Query("SELECT i.id AS id, i.owner.id AS ownerId, i.name AS name, i.description AS description " +
+            "FROM Item i WHERE i.available = TRUE AND i.id > ?1 " +
+            "ORDER BY i.id"
+    )
+    List<ItemTextView> findAvailableTextViewsAfter(long afterId, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId " +
+            "FROM Item i WHERE i.id IN ?1 AND i.available = TRUE"
+    )
+    List<RequestItemView> findAvailableByIds(Collection<Long> itemIds);
 }
@@ -9,4 +9,10 @@ import java.util.Map;
 @Repository
 public interface ItemRepositoryCustom {
     Item updateItem(Item item, Map<UpdatedItemFields, Boolean> targetFields);
+
+    /**
+     * Увеличивает версию вещи в базе. Используется, когда меняются связанные с вещью
+     * бронирования или комментарии, чтобы ETag вещи тоже изменился.
+     */
+    void incrementVersion(Item item);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Текстовые поля вещи и ее владелец для индекса сопоставления запросов с вещами.
+ */
+public interface ItemTextView {
+
+    Long getId();
+
+    Long getOwnerId();
+
+    String getName();
+
+    String getDescription();
+}
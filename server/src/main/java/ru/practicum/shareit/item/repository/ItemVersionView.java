@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.repository;
+
+public interface ItemVersionView {
+
+    Long getOwnerId();
+
+    Long getVersion();
+
+    Long getCommentAuthorsVersion();
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Краткие данные вещи, добавленной в ответ на запрос, без владельца и бронирований.
+ */
+public interface RequestItemView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
@@ -9,6 +9,9 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.repository.ItemRepositoryCustom;
 import ru.practicum.shareit.item.service.UpdatedItemFields;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,11 +19,25 @@ import java.util.Optional;
 public class ItemRepositoryImpl implements ItemRepositoryCustom {
 
     private final ItemRepository repository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public ItemRepositoryImpl(@Lazy ItemRepository repository) {
         this.repository = repository;
     }
 
+    /**
+     * Вещь перечитывается с блокировкой строки, поэтому параллельные бронирования и комментарии одной вещи
+     * ждут друг друга, а не завершаются ошибкой оптимистичной блокировки. Версия увеличивается на управляемой
+     * сущности: во втором уровне кэша сбрасывается только запись этой вещи, а не весь регион, как при
+     * массовом UPDATE.
+     */
+    @Override
+    public void incrementVersion(Item item) {
+        entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
     @Override
     public Item updateItem(Item item, Map<UpdatedItemFields, Boolean> targetFields) {
         long itemId = item.getId();
@@ -30,8 +47,8 @@ public class ItemRepositoryImpl implements ItemRepositoryCustom {
         if (itemOptional.isPresent()) {
             Item existingItem = itemOptional.get();
             if (existingItem.getOwner().getId() != ownerId) {
-                throw new WrongOwnerUpdatingItemException(String.format("Ошибка: запрос на обновление вещи с id=%d" +
-                        " исходит от пользователя, не являющегося ее владельцем.", itemId));
+                throw new WrongOwnerUpdatingItemException("Ошибка: запрос на обновление вещи с id=%d" +
+                        " исходит от пользователя, не являющегося ее владельцем.", itemId);
             }
 
             String name = item.getName();
@@ -55,10 +72,11 @@ public class ItemRepositoryImpl implements ItemRepositoryCustom {
                     .name(name)
                     .description(description)
                     .available(available)
+                    .version(existingItem.getVersion())
                     .build();
 
             return repository.save(newItem);
 
-        } else throw new ItemNotFoundException(String.format("Ошибка обновления: вещь с id=%d не найдена.", itemId));
+        } else throw new ItemNotFoundException("Ошибка обновления: вещь с id=%d не найдена.", itemId);
     }
 }
@@ -12,6 +12,8 @@ public interface ItemService {
 
     ItemDto getItemDto(long id, long requesterId);
 
+    String getItemETag(long id, long requesterId);
+
     Item getItem(long itemId);
 
     Collection<ItemDto> getOwnerItems(long ownerId, int startingIndex, Integer collectionSize);
@@ -12,17 +12,21 @@ import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.EmptyItemPatchRequestException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemVersionView;
 import ru.practicum.shareit.item.service.ActualItemBooking;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.UpdatedItemFields;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.RequestMatcher;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
@@ -46,6 +50,7 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestService requestService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final RequestMatcher matcher;
 
     @Override
     public ItemDto addItem(ItemDto itemDto, long ownerId) {
@@ -63,52 +68,78 @@ public class ItemServiceImpl implements ItemService {
         item.setId(null);
         item = itemRepository.save(item);
 
+        if (requestId != null) {
+            matcher.closeRequest(requestId);
+        }
+        matcher.putItem(item.getId(), ownerId, item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()));
+
         log.debug("Добавлена новая вещь: {}", item);
         return itemMapper.mapToDto(item, null, null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItemDto(long id, long requesterId) {
-        Item item = this.getItem(id);
-        Map<ActualItemBooking, BookingDtoShort> lastAndNextBooking =
-                bookingService.getLastAndNextBookingByItem(item, requesterId);
-
-        return itemMapper.mapToDto(
-                item,
-                lastAndNextBooking.get(LAST),
-                lastAndNextBooking.get(NEXT));
+
+        return this.mapToDtos(List.of(this.getItem(id)), requesterId).get(0);
+    }
+
+    /**
+     * ETag вещи зависит от ее версии (она увеличивается также при добавлении бронирований и комментариев)
+     * и версий авторов комментариев. Для владельца добавляется число наступивших границ бронирований,
+     * так как от текущего времени зависят последнее и следующее бронирования.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemETag(long id, long requesterId) {
+        if (userService.userNotFound(requesterId)) {
+            throw new UserNotFoundException(
+                    "Ошибка получения вещи: пользователь с id=%d не найден.", requesterId);
+        }
+
+        Optional<ItemVersionView> versionOptional = itemRepository.findVersionById(id);
+
+        if (versionOptional.isEmpty()) {
+            return null;
+        }
+
+        ItemVersionView version = versionOptional.get();
+        if (Objects.equals(version.getOwnerId(), requesterId)) {
+            return EntityTags.of("item", id, version.getVersion(), version.getCommentAuthorsVersion(),
+                    "owner", bookingService.countPassedBookingBoundaries(id));
+        }
+        return EntityTags.of("item", id, version.getVersion(), version.getCommentAuthorsVersion());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Item getItem(long itemId) {
         Optional<Item> itemOptional = itemRepository.findById(itemId);
 
         if (itemOptional.isEmpty()) {
-            throw new ItemNotFoundException(String.format("Ошибка получения: вещь с id=%d не найдена.", itemId));
+            throw new ItemNotFoundException("Ошибка получения: вещь с id=%d не найдена.", itemId);
         }
 
         return itemOptional.get();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemDto> getOwnerItems(long ownerId,  int startingIndex, Integer collectionSize) {
         if (collectionSize == null) {
             collectionSize = Integer.MAX_VALUE;
         }
 
-        return itemRepository.findAllByOwnerId(
+        return this.mapToDtos(itemRepository.findAllByOwnerId(
                 ownerId, Pageable.ofSize(startingIndex + collectionSize)).stream()
                 .sorted(Comparator.comparing(Item::getId))
                 .skip(startingIndex)
-                .map(item -> {
-                    Map<ActualItemBooking, BookingDtoShort> itemDtoBookingsMap =
-                            bookingService.getLastAndNextBookingByItem(item, ownerId);
-                    return itemMapper.mapToDto(item, itemDtoBookingsMap.get(LAST), itemDtoBookingsMap.get(NEXT));
-                })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), ownerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemDto> searchAvailableItems(
             long userId, String text,  int startingIndex, Integer collectionSize) {
         if (collectionSize == null) {
@@ -116,16 +147,11 @@ public class ItemServiceImpl implements ItemService {
         }
 
         if (!text.isEmpty()) {
-            return itemRepository.searchAvailableItemsByNameAndDescription(
+            return this.mapToDtos(itemRepository.searchAvailableItemsByNameAndDescription(
                     text, Pageable.ofSize(startingIndex + collectionSize)).stream()
                     .sorted(Comparator.comparing(Item::getId))
                     .skip(startingIndex)
-                    .map(item -> {
-                        Map<ActualItemBooking, BookingDtoShort> itemDtoBookingsMap = bookingService
-                                .getLastAndNextBookingByItem(item, userId);
-                        return itemMapper.mapToDto(item, itemDtoBookingsMap.get(LAST), itemDtoBookingsMap.get(NEXT));
-                    })
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()), userId);
         } else return List.of();
     }
 
@@ -164,6 +190,8 @@ public class ItemServiceImpl implements ItemService {
         item = itemMapper.mapToModel(itemDto, userService.getUser(ownerId), null);
         item.setId(itemId);
         item = itemRepository.updateItem(item, targetFields);
+        matcher.putItem(itemId, item.getOwner().getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()));
         itemDtoBookingsMap = bookingService.getLastAndNextBookingByItem(item, ownerId);
 
         log.debug("Обновлена вещь: {}", item);
@@ -173,16 +201,44 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public CommentDto addComment(CommentDto commentDto, long authorId, long itemId) {
         if (bookingService.neverMadeBookings(authorId, itemId)) {
-            throw new CommenterDontHaveBookingException(String.format("Ошибка при добавлении комментария: " +
-                    "пользователь с id=%d не оформлял бронирований вещи с id=%d.", authorId, itemId));
+            throw new CommenterDontHaveBookingException("Ошибка при добавлении комментария: " +
+                    "пользователь с id=%d не оформлял бронирований вещи с id=%d.", authorId, itemId);
         }
 
-        Comment comment = commentMapper.mapToModel(
-                commentDto, userService.getUser(authorId), this.getItem(itemId));
+        Item item = this.getItem(itemId);
+        Comment comment = commentMapper.mapToModel(commentDto, userService.getUser(authorId), item);
         comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
         comment = commentRepository.save(comment);
+        itemRepository.incrementVersion(item);
 
         log.debug("Добавлен комментарий: {}", comment);
         return commentMapper.mapToDto(comment);
     }
+
+    /**
+     * Вещи преобразуются в DTO с явно загруженными данными: комментарии с авторами и последнее и следующее
+     * бронирования читаются пачками для всего списка, без обращения к ленивым коллекциям вещей.
+     */
+    private List<ItemDto> mapToDtos(List<Item> items, long requesterId) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository.findAllByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::mapToDto, Collectors.toList())));
+        Map<Long, Map<ActualItemBooking, BookingDtoShort>> bookingsByItem =
+                bookingService.getLastAndNextBookingsByItems(items, requesterId);
+
+        return items.stream()
+                .map(item -> {
+                    Map<ActualItemBooking, BookingDtoShort> itemDtoBookingsMap = bookingsByItem.get(item.getId());
+                    return itemMapper.mapToDto(item, itemDtoBookingsMap.get(LAST), itemDtoBookingsMap.get(NEXT),
+                            commentsByItem.getOrDefault(item.getId(), List.of()));
+                })
+                .collect(Collectors.toList());
+    }
 }
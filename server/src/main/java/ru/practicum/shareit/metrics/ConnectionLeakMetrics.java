@@ -0,0 +1,80 @@
+package ru.practicum.shareit.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Счетчик утечек соединений пула HikariCP: shareit.datasource.leaks с тегом event - detected, когда соединение
+ * удерживается дольше spring.datasource.hikari.leak-detection-threshold, и returned, когда такое соединение
+ * все-таки вернулось в пул. Hikari сообщает об утечках только в лог, поэтому счетчик - фильтр Logback,
+ * который узнает эти сообщения независимо от уровня логирования и ничего не фильтрует.
+ */
+@Component
+public class ConnectionLeakMetrics extends TurboFilter implements InitializingBean, DisposableBean {
+
+    public static final String LEAKS = "shareit.datasource.leaks";
+
+    static final String LEAK_LOGGER = "com.zaxxer.hikari.pool.ProxyLeakTask";
+    static final String DETECTED_MESSAGE =
+            "Connection leak detection triggered for {} on thread {}, stack trace follows";
+    static final String RETURNED_MESSAGE =
+            "Previously reported leaked connection {} on thread {} was returned to the pool (unleaked)";
+
+    private final Counter detected;
+    private final Counter returned;
+
+    public ConnectionLeakMetrics(MeterRegistry registry) {
+        detected = Counter.builder(LEAKS)
+                .description("Соединения, удерживаемые дольше порога обнаружения утечек")
+                .tag("event", "detected")
+                .register(registry);
+        returned = Counter.builder(LEAKS)
+                .description("Соединения, удерживаемые дольше порога обнаружения утечек")
+                .tag("event", "returned")
+                .register(registry);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (format != null && LEAK_LOGGER.equals(logger.getName())) {
+            if (DETECTED_MESSAGE.equals(format)) {
+                detected.increment();
+            } else if (RETURNED_MESSAGE.equals(format)) {
+                returned.increment();
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+
+        if (loggerFactory instanceof LoggerContext) {
+            ((LoggerContext) loggerFactory).addTurboFilter(this);
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+
+        if (loggerFactory instanceof LoggerContext) {
+            ((LoggerContext) loggerFactory).getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+}
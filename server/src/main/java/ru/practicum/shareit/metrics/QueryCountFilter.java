@@ -0,0 +1,118 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Подсчет SQL-запросов, выполненных при обработке HTTP-запроса, для поиска лишних ленивых загрузок.
+ * Если запросов больше порога shareit.query-count.warn-threshold, в лог пишется предупреждение.
+ * При shareit.query-count.header-enabled число запросов возвращается в заголовке X-Query-Count,
+ * который добавляется перед началом записи тела ответа: запросы, выполненные уже во время записи
+ * потокового ответа, в заголовок не попадают. Считаются только запросы потока, принявшего HTTP-запрос.
+ */
+@Component
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final boolean headerEnabled;
+    private final int warnThreshold;
+
+    public QueryCountFilter(@Value("${shareit.query-count.header-enabled:false}") boolean headerEnabled,
+                            @Value("${shareit.query-count.warn-threshold:20}") int warnThreshold) {
+        this.headerEnabled = headerEnabled;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounters counters = StatementCounters.current();
+        long statementsBefore = counters.getStatements();
+
+        QueryCountResponse countedResponse = headerEnabled
+                ? new QueryCountResponse(response, counters, statementsBefore) : null;
+
+        try {
+            chain.doFilter(request, countedResponse != null ? countedResponse : response);
+            if (countedResponse != null) {
+                countedResponse.writeHeader();
+            }
+
+        } finally {
+            long statements = counters.getStatements() - statementsBefore;
+
+            if (statements > warnThreshold) {
+                log.warn("Обработка {} {} выполнила {} SQL-запросов при пороге {}.",
+                        request.getMethod(), request.getRequestURI(), statements, warnThreshold);
+            }
+        }
+    }
+
+    private static class QueryCountResponse extends HttpServletResponseWrapper {
+        private final StatementCounters counters;
+        private final long statementsBefore;
+        private boolean headerWritten;
+
+        QueryCountResponse(HttpServletResponse response, StatementCounters counters, long statementsBefore) {
+            super(response);
+            this.counters = counters;
+            this.statementsBefore = statementsBefore;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(counters.getStatements() - statementsBefore));
+                headerWritten = true;
+            }
+        }
+    }
+}
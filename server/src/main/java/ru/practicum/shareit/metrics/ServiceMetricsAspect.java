@@ -0,0 +1,106 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+
+/**
+ * Метрики методов сервисов пользователей, вещей, бронирований и запросов:
+ * <ul>
+ *     <li>shareit.service.calls - время выполнения;</li>
+ *     <li>shareit.service.statements - число SQL-запросов за вызов;</li>
+ *     <li>shareit.service.entities - число загруженных сущностей за вызов.</li>
+ * </ul>
+ * Метрики помечены тегами service, operation (имя метода), outcome (success или имя класса исключения)
+ * и state. В state пишется состояние из выборки бронирований по состоянию (ALL, если оно не задано,
+ * и UNKNOWN для неизвестного), так как стоимость этой выборки сильно зависит от состояния;
+ * у остальных методов state равен none. Значения state ограничены перечислением BookingStatus.
+ * Процентили и гистограммы настраиваются свойствами management.metrics.distribution.*.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String CALLS = "shareit.service.calls";
+    public static final String STATEMENTS = "shareit.service.statements";
+    public static final String ENTITIES = "shareit.service.entities";
+    public static final String NO_STATE = "none";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object measureUserService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("UserService", NO_STATE, joinPoint);
+    }
+
+    @Around("execution(public * ru.practicum.shareit.item.service.ItemService.*(..))")
+    public Object measureItemService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("ItemService", NO_STATE, joinPoint);
+    }
+
+    @Around("execution(public * ru.practicum.shareit.booking.service.BookingService.*(..))")
+    public Object measureBookingService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("BookingService", bookingState(joinPoint), joinPoint);
+    }
+
+    @Around("execution(public * ru.practicum.shareit.request.service.ItemRequestService.*(..))")
+    public Object measureItemRequestService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("ItemRequestService", NO_STATE, joinPoint);
+    }
+
+    private static String bookingState(ProceedingJoinPoint joinPoint) {
+        if (!"getBookingsByUserAndState".equals(joinPoint.getSignature().getName())) {
+            return NO_STATE;
+        }
+
+        Object state = joinPoint.getArgs()[2];
+        if (state == null) {
+            return BookingStatus.ALL.name();
+        }
+        try {
+            return BookingStatus.valueOf(state.toString().toUpperCase()).name();
+
+        } catch (IllegalArgumentException e) {
+            return "UNKNOWN";
+        }
+    }
+
+    private Object measure(String service, String state, ProceedingJoinPoint joinPoint) throws Throwable {
+        StatementCounters counters = StatementCounters.current();
+        long statementsBefore = counters.getStatements();
+        long entitiesBefore = counters.getEntities();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+
+        try {
+            return joinPoint.proceed();
+
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+
+        } finally {
+            Tags tags = Tags.of(
+                    "service", service,
+                    "operation", joinPoint.getSignature().getName(),
+                    "outcome", outcome,
+                    "state", state);
+
+            sample.stop(Timer.builder(CALLS).tags(tags).register(registry));
+            DistributionSummary.builder(STATEMENTS).tags(tags).register(registry)
+                    .record(counters.getStatements() - statementsBefore);
+            DistributionSummary.builder(ENTITIES).tags(tags).register(registry)
+                    .record(counters.getEntities() - entitiesBefore);
+        }
+    }
+}
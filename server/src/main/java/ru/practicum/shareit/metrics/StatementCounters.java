@@ -0,0 +1,37 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Счетчики SQL-запросов и загруженных сущностей текущего потока. Значения только растут,
+ * поэтому вызов метода измеряется как разница значений до и после него, и вложенные вызовы
+ * других сервисов учитываются и в своих метриках, и в метриках вызывающего метода.
+ */
+final class StatementCounters {
+
+    private static final ThreadLocal<StatementCounters> CURRENT = ThreadLocal.withInitial(StatementCounters::new);
+
+    private long statements;
+    private long entities;
+
+    private StatementCounters() {
+    }
+
+    static StatementCounters current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    long getStatements() {
+        return statements;
+    }
+
+    long getEntities() {
+        return entities;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Счетчики текущего потока для метрик вызовов сервисов на открытых точках расширения Hibernate.
+ * Как StatementInspector (hibernate.session_factory.statement_inspector) класс считает каждый подготовленный
+ * SQL-запрос, как Interceptor (hibernate.session_factory.interceptor) - каждую загруженную сущность,
+ * в том числе собранную из кэша второго уровня. Проекции без сущностей в число загруженных не входят.
+ */
+public class StatementCountingInterceptor extends EmptyInterceptor implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounters.current().statementPrepared();
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        StatementCounters.current().entityLoaded();
+        return false;
+    }
+}
@@ -3,7 +3,12 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.cache.CacheTags;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryPageDto;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
@@ -28,7 +33,52 @@ public class ItemRequestController {
     @PostMapping
     public ResponseEntity<ItemRequestDto> addItemRequest(@RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
                                                          @RequestBody ItemRequestDto requestDto) {
-        return ResponseEntity.ok(service.addRequest(requestDto, requesterId));
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER, CacheTags.REQUESTS)
+                .body(service.addRequest(requestDto, requesterId));
+    }
+
+    /**
+     * Лента запросов других пользователей на добавление вещей, от новых к старым, с постраничным обходом по курсору.
+     *
+     * @param requesterId - идентификатор пользователя.
+     * @param cursor      - курсор из предыдущей страницы ленты, для первой страницы не передается.
+     * @param size        - размер страницы.
+     * @return страница запросов и курсор следующей страницы (null для последней страницы).
+     * Ответ помечается тегом запросов для кэша шлюза.
+     * @throws UserNotFoundException - если пользователя с указанным id не существует.
+     */
+    @GetMapping(path = "/feed")
+    public ResponseEntity<ItemRequestFeedDto> getRequestFeed(
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer size) {
+
+        return ResponseEntity.ok()
+                .header(CacheTags.TAGS_HEADER, CacheTags.REQUESTS)
+                .body(service.getRequestFeed(requesterId, cursor, size));
+    }
+
+    /**
+     * Краткий список собственных запросов пользователя, от новых к старым, с постраничным обходом по курсору.
+     * Вместо ответных вещей возвращается только их число.
+     *
+     * @param requesterId - идентификатор пользователя.
+     * @param cursor      - курсор из предыдущей страницы, для первой страницы не передается.
+     * @param size        - размер страницы.
+     * @return страница запросов и курсор следующей страницы (null для последней страницы).
+     * Ответ помечается тегом запросов для кэша шлюза.
+     * @throws UserNotFoundException - если пользователя с указанным id не существует.
+     */
+    @GetMapping(path = "/summary")
+    public ResponseEntity<ItemRequestSummaryPageDto> getOwnRequestSummaries(
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer size) {
+
+        return ResponseEntity.ok()
+                .header(CacheTags.TAGS_HEADER, CacheTags.REQUESTS)
+                .body(service.getOwnRequestSummaries(requesterId, cursor, size));
     }
 
     /**
@@ -46,8 +96,26 @@ public class ItemRequestController {
         return ResponseEntity.ok(service.getRequestDto(requestId, requesterId));
     }
 
+    /**
+     * Получение доступных вещей, подобранных для запроса по совпадению слов в тексте запроса
+     * и в названии или описании вещи.
+     *
+     * @param requesterId - id пользователя, запросившего информацию.
+     * @param requestId   - идентификатор запроса.
+     * @return список подобранных вещей от лучшего совпадения к худшему. Может быть пустым.
+     * @throws UserNotFoundException    - если пользователя с указанным id не существует.
+     * @throws RequestNotFoundException - если запроса с указанным id не существует.
+     */
+    @GetMapping(path = "/{requestId}/matches")
+    public ResponseEntity<Collection<ItemDto>> getMatchingItems(
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            @PathVariable Long requestId) {
+        return ResponseEntity.ok(service.getMatchingItems(requestId, requesterId));
+    }
+
     /**
      * Получение пользователем собственных запросов на добавление вещей.
+     * Если ETag из If-None-Match совпадает с текущим, возвращается 304 без тела.
      *
      * @param requesterId - идентификатор пользователя.
      * @return Список с запросами пользователя.
@@ -55,9 +123,14 @@ public class ItemRequestController {
      */
     @GetMapping
     public ResponseEntity<Collection<ItemRequestDto>> getOwnItemRequests(
-            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId) {
+            @RequestHeader(name = "X-Sharer-User-Id") Long requesterId,
+            WebRequest request) {
+        String eTag = service.getOwnItemRequestsETag(requesterId);
 
-        return ResponseEntity.ok(service.getOwnItemRequests(requesterId));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.getOwnItemRequests(requesterId));
     }
 
     /**
@@ -67,7 +140,7 @@ public class ItemRequestController {
      * @param requesterId - идентификатор пользователя.
      * @param from        - индекс первого получаемого объекта из списка.
      * @param size        - размер получаемого списка.
-     * @return список запросов других пользователей.
+     * @return список запросов других пользователей. Ответ помечается тегом запросов для кэша шлюза.
      * @throws UserNotFoundException - если пользователя с указанным id не существует.
      */
     @GetMapping(path = "/all")
@@ -76,6 +149,8 @@ public class ItemRequestController {
             @RequestParam Integer from,
             @RequestParam Integer size) {
 
-        return ResponseEntity.ok(service.getOtherUsersRequests(requesterId, from, size));
+        return ResponseEntity.ok()
+                .header(CacheTags.TAGS_HEADER, CacheTags.REQUESTS)
+                .body(service.getOtherUsersRequests(requesterId, from, size));
     }
 }
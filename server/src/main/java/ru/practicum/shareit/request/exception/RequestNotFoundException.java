@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.exception;
 
-public class RequestNotFoundException extends RuntimeException {
-    public RequestNotFoundException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class RequestNotFoundException extends ShareItException {
+    public RequestNotFoundException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -4,19 +4,33 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestSummaryView;
+import ru.practicum.shareit.request.repository.ItemRequestView;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Mapper(componentModel = "spring", uses = ItemMapper.class)
 public interface ItemRequestMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "items", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "description", source = "requestDto.description")
     @Mapping(source = "created", target = "created")
     ItemRequest mapToModel(ItemRequestDto requestDto, User requester, LocalDateTime created);
 
+    @Mapping(target = "items", ignore = true)
     ItemRequestDto mapToDto(ItemRequest request);
+
+    @Mapping(source = "items", target = "items")
+    ItemRequestDto mapToDto(ItemRequest request, Set<ItemDto> items);
+
+    ItemRequestDto mapToDto(ItemRequestView request, Set<ItemDto> items);
+
+    ItemRequestSummaryDto mapToSummaryDto(ItemRequestSummaryView request);
 }
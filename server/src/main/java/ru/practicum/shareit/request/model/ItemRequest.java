@@ -3,6 +3,9 @@ package ru.practicum.shareit.request.model;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -18,11 +21,14 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REQUESTS)
 @Table(name = "requests")
 @Generated
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     @Column(name = "request_id")
     private Long id;
     @ManyToOne
@@ -32,6 +38,9 @@ public class ItemRequest {
     private String description;
     @Column(name = "created")
     private LocalDateTime created;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @OneToMany(mappedBy = "request")
     @ToString.Exclude
     private Set<Item> items;
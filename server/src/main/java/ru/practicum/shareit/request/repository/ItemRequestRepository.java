@@ -3,11 +3,14 @@ package ru.practicum.shareit.request.repository;
 import lombok.Generated;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 @Generated
@@ -16,4 +19,81 @@ public interface ItemRequestRepository extends PagingAndSortingRepository<ItemRe
     Collection<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long requesterId);
 
     Page<ItemRequest> findAllByRequesterIdNotOrderByCreatedDesc(long requesterId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created " +
+            "FROM ItemRequest r WHERE r.requester.id = ?1 " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<ItemRequestView> findOwnRequestViews(long requesterId);
+
+    /**
+     * Страница собственных запросов с числом ответных вещей, в порядке (created, id) по убыванию.
+     */
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created, COUNT(i.id) AS itemCount " +
+            "FROM ItemRequest r LEFT JOIN r.items i WHERE r.requester.id = ?1 " +
+            "GROUP BY r.id, r.description, r.created " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<ItemRequestSummaryView> findOwnRequestSummaries(long requesterId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created, COUNT(i.id) AS itemCount " +
+            "FROM ItemRequest r LEFT JOIN r.items i WHERE r.requester.id = ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "GROUP BY r.id, r.description, r.created " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<ItemRequestSummaryView> findOwnRequestSummariesAfter(
+            long requesterId, LocalDateTime created, long requestId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created " +
+            "FROM ItemRequest r WHERE r.requester.id <> ?1 " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<ItemRequestView> findOtherUsersRequestViews(long requesterId, Pageable pageable);
+
+    /**
+     * Следующая страница ленты после позиции курсора (created, id) в порядке убывания.
+     */
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created " +
+            "FROM ItemRequest r WHERE r.requester.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<ItemRequestView> findOtherUsersRequestViewsAfter(
+            long requesterId, LocalDateTime created, long requestId, Pageable pageable);
+
+    @Query("SELECT COUNT(DISTINCT r.id) AS requestCount, COALESCE(MAX(r.id), 0) AS maxRequestId, " +
+            "COUNT(i.id) AS itemCount, COALESCE(MAX(i.id), 0) AS maxItemId, " +
+            "COALESCE(SUM(i.version), 0) AS itemsVersion " +
+            "FROM ItemRequest r LEFT JOIN r.items i " +
+            "WHERE r.requester.id = ?1"
+    )
+    RequestsVersionView getOwnRequestsVersion(long requesterId);
+
+    /**
+     * Запросы без ответных вещей по возрастанию id после указанного,
+     * для начальной загрузки индекса сопоставления.
+     */
+    @Query("SELECT r.id AS id, r.requester.id AS requesterId, r.description AS description " +
+            "FROM ItemRequest r WHERE r.id > ?1 " +
+            "AND NOT EXISTS (SELECT i.id FROM Item i WHERE i.request.id = r.id) " +
+            "ORDER BY r.id"
+    )
+    List<ItemRequestTextView> findOpenTextViewsAfter(long afterId, Pageable pageable);
+
+    /**
+     * Запросы из указанных, у которых нет ответных вещей.
+     */
+    @Query("SELECT r.id AS id, r.requester.id AS requesterId, r.description AS description " +
+            "FROM ItemRequest r WHERE r.id IN ?1 " +
+            "AND NOT EXISTS (SELECT i.id FROM Item i WHERE i.request.id = r.id) " +
+            "ORDER BY r.id"
+    )
+    List<ItemRequestTextView> findOpenTextViewsByIds(Collection<Long> requestIds);
+
+    @Query("SELECT r.id AS id, r.requester.id AS requesterId, r.description AS description, r.created AS created " +
+            "FROM ItemRequest r " +
+            "ORDER BY r.created DESC, r.id DESC"
+    )
+    List<RecentItemRequestView> findRecentRequestViews(Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.repository;
+
+/**
+ * Поля запроса и число ответных вещей, посчитанное в той же выборке без загрузки самих вещей.
+ */
+public interface ItemRequestSummaryView extends ItemRequestView {
+
+    Long getItemCount();
+}
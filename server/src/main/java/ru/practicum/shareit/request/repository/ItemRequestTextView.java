@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.repository;
+
+/**
+ * Текст запроса и его автор для индекса сопоставления запросов с вещами.
+ */
+public interface ItemRequestTextView {
+
+    Long getId();
+
+    Long getRequesterId();
+
+    String getDescription();
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля запроса без связанных сущностей: выборка не подгружает автора запроса и ответные вещи.
+ */
+public interface ItemRequestView {
+
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
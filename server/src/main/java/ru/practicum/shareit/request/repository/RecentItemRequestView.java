@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.repository;
+
+/**
+ * Поля запроса вместе с id автора для окна последних запросов.
+ */
+public interface RecentItemRequestView extends ItemRequestView {
+
+    Long getRequesterId();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.repository;
+
+public interface RequestsVersionView {
+
+    Long getRequestCount();
+
+    Long getMaxRequestId();
+
+    Long getItemCount();
+
+    Long getMaxItemId();
+
+    Long getItemsVersion();
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор ленты запросов: позиция последнего отданного запроса в порядке (created, request_id) по убыванию.
+ * Клиенту передается в виде непрозрачной строки.
+ */
+@Getter
+public class ItemRequestCursor {
+
+    private final LocalDateTime created;
+    private final long requestId;
+
+    public ItemRequestCursor(LocalDateTime created, long requestId) {
+        this.created = created;
+        this.requestId = requestId;
+    }
+
+    public String encode() {
+        String value = created + "|" + requestId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException - если строка не является курсором ленты.
+     */
+    public static ItemRequestCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+
+            return new ItemRequestCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор ленты запросов: %s", cursor));
+        }
+    }
+}
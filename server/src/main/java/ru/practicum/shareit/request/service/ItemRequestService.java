@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryPageDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.Collection;
@@ -11,9 +14,17 @@ public interface ItemRequestService {
 
     ItemRequestDto getRequestDto(long requestId, long requesterId);
 
+    Collection<ItemDto> getMatchingItems(long requestId, long requesterId);
+
     ItemRequest getRequest(long requestId);
 
     Collection<ItemRequestDto> getOwnItemRequests(long requesterId);
 
+    String getOwnItemRequestsETag(long requesterId);
+
+    ItemRequestSummaryPageDto getOwnRequestSummaries(long requesterId, String cursor, int size);
+
     Collection<ItemRequestDto> getOtherUsersRequests(long requesterId, int startingIndex, Integer collectionSize);
+
+    ItemRequestFeedDto getRequestFeed(long requesterId, String cursor, int size);
 }
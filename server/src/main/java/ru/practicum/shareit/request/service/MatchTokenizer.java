@@ -0,0 +1,51 @@
+package ru.practicum.shareit.request.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Разбиение текста на слова для сопоставления запросов с вещами.
+ * Слова приводятся к нижнему регистру и грубо усекаются: отбрасываются конечные гласные, "ь", "й"
+ * и английская "s", чтобы "дрель", "дрели" и "дрелью" или "drill" и "drills" давали одно и то же слово.
+ * Слова короче трех букв и частые служебные слова пропускаются.
+ */
+final class MatchTokenizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String STRIPPED_ENDINGS = "аеёиоуыэюяьйaeiouys";
+    private static final int MIN_LENGTH = 3;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "для", "или", "как", "что", "это", "мне", "меня", "без", "под", "над", "при", "кто", "есть",
+            "нужна", "нужен", "нужно", "нужны", "ищу", "хочу", "можно", "может", "чтобы", "очень", "пожалуйста",
+            "the", "and", "for", "with", "need", "needs", "want", "looking", "some", "any", "that", "this",
+            "please");
+
+    private MatchTokenizer() {
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+
+        if (text == null) {
+            return tokens;
+        }
+
+        for (String word : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_LENGTH && !STOP_WORDS.contains(word)) {
+                tokens.add(stem(word));
+            }
+        }
+        return tokens;
+    }
+
+    private static String stem(String word) {
+        int end = word.length();
+
+        while (end > MIN_LENGTH && STRIPPED_ENDINGS.indexOf(word.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return word.substring(0, end);
+    }
+}
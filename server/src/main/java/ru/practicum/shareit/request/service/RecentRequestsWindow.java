@@ -0,0 +1,214 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemRequestView;
+import ru.practicum.shareit.request.repository.RecentItemRequestView;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Окно последних запросов на добавление вещей, из которого выдаются страницы запросов других пользователей
+ * без сортировки всей таблицы запросов. Окно - кольцевой буфер на capacity запросов в порядке (created, id):
+ * новый запрос дописывается в голову, самый старый при переполнении вытесняется.
+ * Страница набирается обходом окна от новых запросов к старым с пропуском запросов самого пользователя.
+ * Если запросов в окне для страницы не хватает, а в базе есть более старые, возвращается пустой Optional
+ * и страница читается из базы.
+ *
+ * Окно заполняется из базы после запуска приложения, новые запросы попадают в него после фиксации транзакции.
+ */
+@Component
+@Slf4j
+public class RecentRequestsWindow {
+
+    private final ItemRequestRepository repository;
+    private final Entry[] entries;
+    private int oldest;
+    private int size;
+    private boolean loaded;
+    private boolean complete;
+
+    public RecentRequestsWindow(ItemRequestRepository repository,
+                                @Value("${shareit.recent-requests.capacity:10000}") int capacity) {
+        this.repository = repository;
+        this.entries = new Entry[capacity];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<RecentItemRequestView> recent = repository.findRecentRequestViews(Pageable.ofSize(entries.length));
+
+        synchronized (this) {
+            Set<Long> loadedIds = new HashSet<>();
+            recent.forEach(request -> loadedIds.add(request.getId()));
+
+            List<Entry> addedBeforeLoad = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (!loadedIds.contains(get(i).id)) {
+                    addedBeforeLoad.add(get(i));
+                }
+            }
+
+            Arrays.fill(entries, null);
+            oldest = 0;
+            size = 0;
+            complete = recent.size() < entries.length;
+
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                RecentItemRequestView request = recent.get(i);
+                insert(new Entry(request.getId(), request.getRequesterId(),
+                        request.getDescription(), request.getCreated()));
+            }
+            addedBeforeLoad.forEach(this::insert);
+            loaded = true;
+
+            log.info("Загружено окно последних запросов на добавление вещей: {} из {}.", size, entries.length);
+        }
+    }
+
+    /**
+     * Добавление нового запроса в окно. Внутри транзакции запрос добавляется только после ее фиксации.
+     */
+    public void add(long requestId, long requesterId, String description, LocalDateTime created) {
+        Entry entry = new Entry(requestId, requesterId, description, created);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertSynchronized(entry);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                insertSynchronized(entry);
+            }
+        });
+    }
+
+    /**
+     * Удаление из окна всех запросов пользователя.
+     */
+    public synchronized void removeRequester(long requesterId) {
+        int kept = 0;
+
+        for (int i = 0; i < size; i++) {
+            Entry entry = get(i);
+            if (entry.requesterId != requesterId) {
+                set(kept++, entry);
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            set(i, null);
+        }
+        size = kept;
+    }
+
+    /**
+     * Страница запросов других пользователей от новых к старым.
+     *
+     * @return пустой Optional, если окно еще не загружено или не содержит всех запросов страницы.
+     */
+    public synchronized Optional<List<ItemRequestView>> findOtherUsersRequests(
+            long requesterId, int startingIndex, int collectionSize) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+
+        List<ItemRequestView> page = new ArrayList<>();
+        int skipped = 0;
+
+        for (int i = size - 1; i >= 0 && page.size() < collectionSize; i--) {
+            Entry entry = get(i);
+
+            if (entry.requesterId == requesterId) {
+                continue;
+            }
+            if (skipped < startingIndex) {
+                skipped++;
+            } else {
+                page.add(entry);
+            }
+        }
+
+        if (page.size() < collectionSize && !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    private synchronized void insertSynchronized(Entry entry) {
+        insert(entry);
+    }
+
+    private void insert(Entry entry) {
+        if (size == entries.length) {
+            complete = false;
+
+            if (get(0).compareTo(entry) > 0) {
+                return;
+            }
+            set(0, null);
+            oldest = (oldest + 1) % entries.length;
+            size--;
+        }
+
+        int position = size;
+        while (position > 0 && get(position - 1).compareTo(entry) > 0) {
+            set(position, get(position - 1));
+            position--;
+        }
+        set(position, entry);
+        size++;
+    }
+
+    private Entry get(int index) {
+        return entries[(oldest + index) % entries.length];
+    }
+
+    private void set(int index, Entry entry) {
+        entries[(oldest + index) % entries.length] = entry;
+    }
+
+    private static final class Entry implements ItemRequestView, Comparable<Entry> {
+        private final long id;
+        private final long requesterId;
+        private final String description;
+        private final LocalDateTime created;
+
+        Entry(long id, long requesterId, String description, LocalDateTime created) {
+            this.id = id;
+            this.requesterId = requesterId;
+            this.description = description;
+            this.created = created;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return created;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = created.compareTo(other.created);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+}
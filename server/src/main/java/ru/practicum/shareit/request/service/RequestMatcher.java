@@ -0,0 +1,399 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemTextView;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemRequestTextView;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Подбор доступных вещей для запросов на добавление вещей по словам из текста.
+ * В памяти хранятся два обратных индекса (слово -> вещи и слово -> открытые запросы) и лучшие найденные вещи
+ * каждого запроса. Новый запрос ищется по индексу вещей, а новая или измененная вещь - по индексу открытых
+ * запросов, поэтому таблицы вещей и запросов при этом не перечитываются. Из базы индекс загружается один раз
+ * после запуска приложения. Запрос считается открытым, пока на него не добавлена ответная вещь; если все ответные
+ * вещи удалены вместе с их владельцем, запрос снова становится открытым.
+ *
+ * Оценка совпадения - доля веса слов запроса, которые есть в названии или описании вещи. Вес слова тем больше,
+ * чем у меньшего числа вещей оно встречается; слова, которых нет ни у одной вещи, не учитываются.
+ * Изменения применяются к индексу только после фиксации транзакции, в которой они сделаны, и теряются
+ * при откате. Между фиксацией и обновлением индекса выдача может ненадолго отставать от базы,
+ * поэтому найденные вещи при выдаче перепроверяются по базе.
+ */
+@Component
+@Slf4j
+public class RequestMatcher {
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository requestRepository;
+    private final int maxCandidates;
+    private final double minScore;
+    private final int loadBatchSize;
+
+    private final Map<Long, IndexedText> items = new HashMap<>();
+    private final Map<String, Set<Long>> itemsByToken = new HashMap<>();
+    private final Map<Long, IndexedText> openRequests = new HashMap<>();
+    private final Map<String, Set<Long>> openRequestsByToken = new HashMap<>();
+    private final Map<Long, Candidates> candidatesByRequest = new HashMap<>();
+    private final Map<Long, Set<Long>> requestsByCandidate = new HashMap<>();
+    private final List<Runnable> changesBeforeLoad = new ArrayList<>();
+    private boolean loaded;
+
+    public RequestMatcher(ItemRepository itemRepository,
+                          ItemRequestRepository requestRepository,
+                          @Value("${shareit.request-matching.max-candidates:5}") int maxCandidates,
+                          @Value("${shareit.request-matching.min-score:0.5}") double minScore,
+                          @Value("${shareit.request-matching.load-batch-size:1000}") int loadBatchSize) {
+        this.itemRepository = itemRepository;
+        this.requestRepository = requestRepository;
+        this.maxCandidates = maxCandidates;
+        this.minScore = minScore;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Начальная загрузка индекса: доступные вещи и открытые запросы читаются страницами по возрастанию id.
+     * Страницы читаются без блокировок, поэтому страница, прочитанная до фиксации параллельного изменения,
+     * может вернуть в индекс устаревшие данные. Чтобы это исправить, изменения, зафиксированные до окончания
+     * загрузки, запоминаются и повторно применяются в исходном порядке после загрузки последней страницы.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long afterId = 0;
+        List<ItemTextView> itemPage;
+
+        do {
+            itemPage = itemRepository.findAvailableTextViewsAfter(afterId, Pageable.ofSize(loadBatchSize));
+            synchronized (this) {
+                itemPage.forEach(item -> indexItem(item.getId(), item.getOwnerId(),
+                        MatchTokenizer.tokenize(item.getName() + " " + item.getDescription())));
+            }
+            if (!itemPage.isEmpty()) {
+                afterId = itemPage.get(itemPage.size() - 1).getId();
+            }
+        } while (itemPage.size() == loadBatchSize);
+
+        afterId = 0;
+        List<ItemRequestTextView> requestPage;
+
+        do {
+            requestPage = requestRepository.findOpenTextViewsAfter(afterId, Pageable.ofSize(loadBatchSize));
+            synchronized (this) {
+                requestPage.forEach(request -> indexRequest(request.getId(), request.getRequesterId(),
+                        MatchTokenizer.tokenize(request.getDescription())));
+            }
+            if (!requestPage.isEmpty()) {
+                afterId = requestPage.get(requestPage.size() - 1).getId();
+            }
+        } while (requestPage.size() == loadBatchSize);
+
+        synchronized (this) {
+            changesBeforeLoad.forEach(Runnable::run);
+            changesBeforeLoad.clear();
+            loaded = true;
+            log.info("Загружен индекс подбора вещей для запросов: вещей - {}, открытых запросов - {}.",
+                    items.size(), openRequests.size());
+        }
+    }
+
+    /**
+     * Добавление открытого запроса в индекс и подбор вещей для него.
+     */
+    public void addRequest(long requestId, long requesterId, String description) {
+        Set<String> tokens = MatchTokenizer.tokenize(description);
+
+        afterCommit(() -> {
+            indexRequest(requestId, requesterId, tokens);
+            log.debug("Для запроса с id={} подобрано вещей: {}", requestId, getCandidates(requestId).size());
+        });
+    }
+
+    /**
+     * На запрос добавлена ответная вещь: новые вещи для него больше не подбираются, уже найденные сохраняются.
+     */
+    public void closeRequest(long requestId) {
+        afterCommit(() -> unindexRequest(requestId));
+    }
+
+    /**
+     * Повторное открытие запросов, у которых не осталось ответных вещей. Запросы перечитываются из базы
+     * в текущей транзакции, а в индекс попадают после ее фиксации.
+     */
+    public void reopenRequests(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return;
+        }
+
+        List<ItemRequestTextView> reopened = requestRepository.findOpenTextViewsByIds(requestIds);
+        afterCommit(() -> reopened.forEach(request -> indexRequest(request.getId(), request.getRequesterId(),
+                MatchTokenizer.tokenize(request.getDescription()))));
+    }
+
+    /**
+     * Добавление новой или измененной вещи в индекс и предложение ее открытым запросам.
+     * Недоступная вещь удаляется из индекса и из найденных вещей всех запросов.
+     */
+    public void putItem(long itemId, long ownerId, String name, String description, boolean available) {
+        Set<String> tokens = available ? MatchTokenizer.tokenize(name + " " + description) : Set.of();
+
+        afterCommit(() -> {
+            removeItem(itemId);
+            if (available) {
+                matchItem(itemId, ownerId, tokens);
+            }
+        });
+    }
+
+    /**
+     * Удаление из индекса всех вещей и запросов пользователя.
+     */
+    public void removeUser(long userId) {
+        afterCommit(() -> unindexUser(userId));
+    }
+
+    /**
+     * @return id подобранных для запроса вещей от лучшего совпадения к худшему.
+     */
+    public synchronized List<Long> getCandidates(long requestId) {
+        Candidates candidates = candidatesByRequest.get(requestId);
+
+        if (candidates == null) {
+            return List.of();
+        }
+        return candidates.list.stream()
+                .map(candidate -> candidate.itemId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Изменение индекса выполняется после фиксации текущей транзакции, а вне транзакции - сразу.
+     * До окончания начальной загрузки изменения дополнительно запоминаются для повторного применения.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        if (!loaded) {
+            changesBeforeLoad.add(change);
+        }
+        change.run();
+    }
+
+    private void indexRequest(long requestId, long requesterId, Set<String> tokens) {
+        removeRequest(requestId);
+
+        IndexedText request = new IndexedText(requesterId, tokens);
+        openRequests.put(requestId, request);
+        addPostings(openRequestsByToken, requestId, request.tokens);
+
+        for (Long itemId : collectPostings(itemsByToken, request.tokens)) {
+            IndexedText item = items.get(itemId);
+
+            if (item.ownerId != requesterId) {
+                offer(requestId, requesterId, itemId, score(request.tokens, item.tokens));
+            }
+        }
+    }
+
+    private void unindexRequest(long requestId) {
+        IndexedText request = openRequests.remove(requestId);
+
+        if (request != null) {
+            removePostings(openRequestsByToken, requestId, request.tokens);
+        }
+    }
+
+    private void matchItem(long itemId, long ownerId, Set<String> tokens) {
+        indexItem(itemId, ownerId, tokens);
+
+        for (Long requestId : collectPostings(openRequestsByToken, tokens)) {
+            IndexedText request = openRequests.get(requestId);
+
+            if (request.ownerId != ownerId) {
+                offer(requestId, request.ownerId, itemId, score(request.tokens, tokens));
+            }
+        }
+    }
+
+    private void removeItem(long itemId) {
+        IndexedText item = items.remove(itemId);
+
+        if (item != null) {
+            removePostings(itemsByToken, itemId, item.tokens);
+        }
+
+        Set<Long> requestIds = requestsByCandidate.remove(itemId);
+        if (requestIds != null) {
+            for (Long requestId : requestIds) {
+                Candidates candidates = candidatesByRequest.get(requestId);
+                candidates.list.removeIf(candidate -> candidate.itemId == itemId);
+
+                if (candidates.list.isEmpty()) {
+                    candidatesByRequest.remove(requestId);
+                }
+            }
+        }
+    }
+
+    private void removeRequest(long requestId) {
+        unindexRequest(requestId);
+
+        Candidates candidates = candidatesByRequest.remove(requestId);
+        if (candidates != null) {
+            candidates.list.forEach(candidate -> unlinkCandidate(candidate.itemId, requestId));
+        }
+    }
+
+    private void unindexUser(long userId) {
+        items.entrySet().stream()
+                .filter(entry -> entry.getValue().ownerId == userId)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+                .forEach(this::removeItem);
+
+        Set<Long> requestIds = new HashSet<>();
+        openRequests.forEach((requestId, request) -> {
+            if (request.ownerId == userId) {
+                requestIds.add(requestId);
+            }
+        });
+        candidatesByRequest.forEach((requestId, candidates) -> {
+            if (candidates.requesterId == userId) {
+                requestIds.add(requestId);
+            }
+        });
+        requestIds.forEach(this::removeRequest);
+    }
+
+    private void indexItem(long itemId, long ownerId, Set<String> tokens) {
+        items.put(itemId, new IndexedText(ownerId, tokens));
+        addPostings(itemsByToken, itemId, tokens);
+    }
+
+    private double score(Set<String> requestTokens, Set<String> itemTokens) {
+        double matched = 0;
+        double total = 0;
+
+        for (String token : requestTokens) {
+            Set<Long> postings = itemsByToken.get(token);
+
+            if (postings != null) {
+                double weight = Math.log(1 + (double) items.size() / postings.size());
+                total += weight;
+
+                if (itemTokens.contains(token)) {
+                    matched += weight;
+                }
+            }
+        }
+        return total == 0 ? 0 : matched / total;
+    }
+
+    private void offer(long requestId, long requesterId, long itemId, double score) {
+        if (score < minScore) {
+            return;
+        }
+
+        Candidates candidates = candidatesByRequest.computeIfAbsent(requestId, id -> new Candidates(requesterId));
+        List<Candidate> list = candidates.list;
+        if (list.size() == maxCandidates && list.get(list.size() - 1).score >= score) {
+            return;
+        }
+
+        int position = 0;
+        while (position < list.size() && list.get(position).score >= score) {
+            position++;
+        }
+        list.add(position, new Candidate(itemId, score));
+        requestsByCandidate.computeIfAbsent(itemId, id -> new HashSet<>()).add(requestId);
+
+        if (list.size() > maxCandidates) {
+            unlinkCandidate(list.remove(list.size() - 1).itemId, requestId);
+        }
+    }
+
+    private void unlinkCandidate(long itemId, long requestId) {
+        Set<Long> requestIds = requestsByCandidate.get(itemId);
+
+        if (requestIds != null) {
+            requestIds.remove(requestId);
+            if (requestIds.isEmpty()) {
+                requestsByCandidate.remove(itemId);
+            }
+        }
+    }
+
+    private static void addPostings(Map<String, Set<Long>> index, long id, Set<String> tokens) {
+        tokens.forEach(token -> index.computeIfAbsent(token, key -> new HashSet<>()).add(id));
+    }
+
+    private static void removePostings(Map<String, Set<Long>> index, long id, Set<String> tokens) {
+        for (String token : tokens) {
+            Set<Long> postings = index.get(token);
+
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    index.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> collectPostings(Map<String, Set<Long>> index, Set<String> tokens) {
+        Set<Long> ids = new HashSet<>();
+
+        tokens.forEach(token -> ids.addAll(index.getOrDefault(token, Set.of())));
+        return ids;
+    }
+
+    private static class IndexedText {
+        private final long ownerId;
+        private final Set<String> tokens;
+
+        IndexedText(long ownerId, Set<String> tokens) {
+            this.ownerId = ownerId;
+            this.tokens = tokens;
+        }
+    }
+
+    private static class Candidates {
+        private final long requesterId;
+        private final List<Candidate> list = new ArrayList<>();
+
+        Candidates(long requesterId) {
+            this.requesterId = requesterId;
+        }
+    }
+
+    private static class Candidate {
+        private final long itemId;
+        private final double score;
+
+        Candidate(long itemId, double score) {
+            this.itemId = itemId;
+            this.score = score;
+        }
+    }
+}
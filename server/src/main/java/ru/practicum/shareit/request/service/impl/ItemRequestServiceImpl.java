@@ -5,19 +5,31 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.RequestItemView;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryPageDto;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemRequestSummaryView;
+import ru.practicum.shareit.request.repository.ItemRequestView;
+import ru.practicum.shareit.request.repository.RequestsVersionView;
+import ru.practicum.shareit.request.service.ItemRequestCursor;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.RecentRequestsWindow;
+import ru.practicum.shareit.request.service.RequestMatcher;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Collection;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +41,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserService userService;
     private final ItemRequestRepository repository;
     private final ItemRequestMapper mapper;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final RequestMatcher matcher;
+    private final RecentRequestsWindow recentRequests;
 
     @Override
     public ItemRequestDto addRequest(ItemRequestDto requestDto, long requesterId) {
@@ -36,48 +52,139 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
         request.setId(null);
         request = repository.save(request);
+        recentRequests.add(request.getId(), requesterId, request.getDescription(), request.getCreated());
+        matcher.addRequest(request.getId(), requesterId, request.getDescription());
 
         log.debug("Добавлен новый запрос на добавление вещи: {}", request);
         return mapper.mapToDto(request);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestDto(long requestId, long requesterId) {
         if (userService.userNotFound(requesterId)) {
             throw new UserNotFoundException(
-                    String.format("Ошибка при получении запроса на добавление вещи: " +
-                            "пользователь с id=%d не найден", requesterId));
+                    "Ошибка при получении запроса на добавление вещи: " +
+                            "пользователь с id=%d не найден", requesterId);
         }
 
-        return mapper.mapToDto(this.getRequest(requestId));
+        Set<ItemDto> items = itemRepository.findAllByRequestIds(List.of(requestId)).stream()
+                .map(itemMapper::mapToShortDto)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return mapper.mapToDto(this.getRequest(requestId), items);
     }
 
+    /**
+     * Подобранные для запроса доступные вещи от лучшего совпадения к худшему.
+     * Подбор берется из индекса RequestMatcher, вещи перед выдачей перечитываются из базы.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemDto> getMatchingItems(long requestId, long requesterId) {
+        if (userService.userNotFound(requesterId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении подобранных для запроса вещей: " +
+                            "пользователь с id=%d не найден", requesterId);
+        }
+
+        if (!repository.existsById(requestId)) {
+            throw new RequestNotFoundException(
+                    "Запрос с id=%d на добавление вещи не найден.", requestId);
+        }
+
+        List<Long> candidateIds = matcher.getCandidates(requestId);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, RequestItemView> itemsById = itemRepository.findAvailableByIds(candidateIds).stream()
+                .collect(Collectors.toMap(RequestItemView::getId, item -> item));
+        return candidateIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(itemMapper::mapToShortDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemRequest getRequest(long requestId) {
         Optional<ItemRequest> requestOptional = repository.findById(requestId);
 
         if (requestOptional.isEmpty()) {
             throw new RequestNotFoundException(
-                    String.format("Запрос с id=%d на добавление вещи не найден.", requestId));
+                    "Запрос с id=%d на добавление вещи не найден.", requestId);
         }
 
         return requestOptional.get();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemRequestDto> getOwnItemRequests(long requesterId) {
         if (userService.userNotFound(requesterId)) {
             throw new UserNotFoundException(
-                    String.format("Ошибка при получении собственных запросов на добавление вещи: " +
-                            "пользователь с id=%d не найден", requesterId));
+                    "Ошибка при получении собственных запросов на добавление вещи: " +
+                            "пользователь с id=%d не найден", requesterId);
         }
 
-        return repository.findAllByRequesterIdOrderByCreatedDesc(requesterId).stream()
-                .map(mapper::mapToDto)
-                .collect(Collectors.toList());
+        return attachItems(repository.findOwnRequestViews(requesterId));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getOwnItemRequestsETag(long requesterId) {
+        if (userService.userNotFound(requesterId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении собственных запросов на добавление вещи: " +
+                            "пользователь с id=%d не найден", requesterId);
+        }
+
+        RequestsVersionView version = repository.getOwnRequestsVersion(requesterId);
+        return EntityTags.of("requests",
+                version.getRequestCount(),
+                version.getMaxRequestId(),
+                version.getItemCount(),
+                version.getMaxItemId(),
+                version.getItemsVersion());
+    }
+
+    /**
+     * Собственные запросы пользователя без ответных вещей: только число вещей, посчитанное агрегатом
+     * в том же запросе к базе. Страницы обходятся по курсору (created, request_id), как в ленте запросов.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestSummaryPageDto getOwnRequestSummaries(long requesterId, String cursor, int size) {
+        if (userService.userNotFound(requesterId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении собственных запросов на добавление вещи: " +
+                            "пользователь с id=%d не найден", requesterId);
+        }
+
+        List<ItemRequestSummaryView> page;
+        if (cursor == null) {
+            page = repository.findOwnRequestSummaries(requesterId, Pageable.ofSize(size));
+        } else {
+            ItemRequestCursor position = ItemRequestCursor.decode(cursor);
+            page = repository.findOwnRequestSummariesAfter(
+                    requesterId, position.getCreated(), position.getRequestId(), Pageable.ofSize(size));
+        }
+
+        return ItemRequestSummaryPageDto.builder()
+                .requests(page.stream()
+                        .map(mapper::mapToSummaryDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(getNextCursor(page, size))
+                .build();
+    }
+
+    /**
+     * Страницы, которые целиком помещаются в окно последних запросов, выдаются из RecentRequestsWindow,
+     * более глубокие страницы читаются из базы.
+     */
+    @Override
+    @Transactional(readOnly = true)
     public Collection<ItemRequestDto> getOtherUsersRequests(
             long requesterId, int startingIndex, Integer collectionSize) {
         if (collectionSize == null) {
@@ -86,14 +193,81 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         if (userService.userNotFound(requesterId)) {
             throw new UserNotFoundException(
-                    String.format("Ошибка при получении запросов других пользователей на добавление вещи: " +
-                            "пользователь с id=%d не найден", requesterId));
+                    "Ошибка при получении запросов других пользователей на добавление вещи: " +
+                            "пользователь с id=%d не найден", requesterId);
         }
 
-        return repository.findAllByRequesterIdNotOrderByCreatedDesc(
+        Optional<List<ItemRequestView>> recentPage =
+                recentRequests.findOtherUsersRequests(requesterId, startingIndex, collectionSize);
+        if (recentPage.isPresent()) {
+            return attachItems(recentPage.get());
+        }
+
+        return attachItems(repository.findOtherUsersRequestViews(
                 requesterId, Pageable.ofSize(startingIndex + collectionSize)).stream()
                 .skip(startingIndex)
-                .map(mapper::mapToDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Лента запросов других пользователей с постраничным обходом по курсору (created, request_id).
+     * В отличие от смещения, стоимость получения страницы не зависит от ее номера.
+     * Курсор следующей страницы равен null, если страница последняя.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestFeedDto getRequestFeed(long requesterId, String cursor, int size) {
+        if (userService.userNotFound(requesterId)) {
+            throw new UserNotFoundException(
+                    "Ошибка при получении ленты запросов на добавление вещей: " +
+                            "пользователь с id=%d не найден", requesterId);
+        }
+
+        List<ItemRequestView> page;
+        if (cursor == null) {
+            page = repository.findOtherUsersRequestViews(requesterId, Pageable.ofSize(size));
+        } else {
+            ItemRequestCursor position = ItemRequestCursor.decode(cursor);
+            page = repository.findOtherUsersRequestViewsAfter(
+                    requesterId, position.getCreated(), position.getRequestId(), Pageable.ofSize(size));
+        }
+
+        return ItemRequestFeedDto.builder()
+                .requests(attachItems(page))
+                .nextCursor(getNextCursor(page, size))
+                .build();
+    }
+
+    /**
+     * Курсор следующей страницы или null, если страница неполная и, значит, последняя.
+     */
+    private String getNextCursor(List<? extends ItemRequestView> page, int size) {
+        if (page.size() < size) {
+            return null;
+        }
+
+        ItemRequestView last = page.get(page.size() - 1);
+        return new ItemRequestCursor(last.getCreated(), last.getId()).encode();
+    }
+
+    /**
+     * Ответные вещи для всех запросов страницы загружаются одним запросом с IN вместо запроса на каждый запрос.
+     */
+    private List<ItemRequestDto> attachItems(List<ItemRequestView> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequestView::getId)
+                .collect(Collectors.toList());
+        Map<Long, Set<ItemDto>> itemsByRequest = itemRepository.findAllByRequestIds(requestIds).stream()
+                .collect(Collectors.groupingBy(RequestItemView::getRequestId,
+                        Collectors.mapping(itemMapper::mapToShortDto, Collectors.toCollection(LinkedHashSet::new))));
+
+        return requests.stream()
+                .map(request -> mapper.mapToDto(request,
+                        itemsByRequest.getOrDefault(request.getId(), new LinkedHashSet<>())))
                 .collect(Collectors.toList());
     }
 }
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.cache.CacheTags;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.DuplicateEmailException;
 import ru.practicum.shareit.user.exception.EmptyUserPatchRequestException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 
 /**
@@ -22,7 +29,10 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final UserService service;
+    private final ObjectMapper mapper;
 
     /**
      * Добавление нового пользователя.
@@ -50,13 +60,31 @@ public class UserController {
     }
 
     /**
-     * Получение списка всех существующих пользователей.
+     * Получение пользователей с id больше afterId в порядке возрастания id.
+     * Все пользователи выгружаются через /users/stream.
      *
+     * @param afterId - id последнего пользователя предыдущей страницы (0 для первой страницы).
+     * @param size    - размер страницы (по умолчанию 100, не больше 1000).
      * @return Список с DTO пользователей.
      */
     @GetMapping
-    public ResponseEntity<Collection<UserDto>> getUsers() {
-        return ResponseEntity.ok(service.getUsers());
+    public ResponseEntity<Collection<UserDto>> getUsers(@RequestParam(defaultValue = "0") Long afterId,
+                                                        @RequestParam(defaultValue = "100") Integer size) {
+        return ResponseEntity.ok(service.getUsers(afterId, size));
+    }
+
+    /**
+     * Потоковая выгрузка всех пользователей в формате NDJSON (один объект JSON на строку).
+     * Пользователи читаются из базы пачками и сразу записываются в ответ.
+     *
+     * @return Поток DTO пользователей.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = out -> service.forEachUsersBatch(STREAM_BATCH_SIZE,
+                batch -> writeLines(out, batch));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -73,18 +101,37 @@ public class UserController {
      */
     @PatchMapping(path = "/{id}")
     public ResponseEntity<UserDto> updateUser(@RequestBody UserDto userDto, @PathVariable Long id) {
-        return ResponseEntity.ok(service.updateUser(userDto, id));
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER, CacheTags.ITEMS)
+                .body(service.updateUser(userDto, id));
     }
 
     /**
-     * Удаление существующего пользователя. Также происходит удаление всех вещей, у которых он является владельцем.
+     * Удаление существующего пользователя. Также удаляются его вещи и запросы, его бронирования и комментарии,
+     * а также бронирования и комментарии к его вещам.
      *
      * @param id - идентификатор удаляемого пользователя.
      * @throws UserNotFoundException - при попытке удалить несуществующего пользователя.
      */
     @DeleteMapping(path = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public void deleteUser(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         service.deleteUser(id);
+
+        return ResponseEntity.ok()
+                .header(CacheTags.PURGE_HEADER, CacheTags.join(CacheTags.ITEMS, CacheTags.REQUESTS))
+                .build();
+    }
+
+    private void writeLines(OutputStream out, Collection<UserDto> users) {
+        try {
+            for (UserDto user : users) {
+                out.write(mapper.writeValueAsBytes(user));
+                out.write('\n');
+            }
+            out.flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
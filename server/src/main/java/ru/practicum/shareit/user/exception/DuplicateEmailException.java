@@ -1,7 +1,9 @@
 package ru.practicum.shareit.user.exception;
 
-public class DuplicateEmailException extends RuntimeException {
-    public DuplicateEmailException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class DuplicateEmailException extends ShareItException {
+    public DuplicateEmailException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -1,8 +1,9 @@
 package ru.practicum.shareit.user.exception;
 
-public class EmptyUserPatchRequestException extends RuntimeException {
+import ru.practicum.shareit.exception.ShareItException;
 
-    public EmptyUserPatchRequestException(String message) {
-        super(message);
+public class EmptyUserPatchRequestException extends ShareItException {
+    public EmptyUserPatchRequestException(String format, Object... args) {
+        super(format, args);
     }
 }
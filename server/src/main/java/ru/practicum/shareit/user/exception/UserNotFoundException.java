@@ -1,7 +1,9 @@
 package ru.practicum.shareit.user.exception;
 
-public class UserNotFoundException extends RuntimeException {
-    public UserNotFoundException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.ShareItException;
+
+public class UserNotFoundException extends ShareItException {
+    public UserNotFoundException(String format, Object... args) {
+        super(format, args);
     }
 }
@@ -13,6 +13,7 @@ public interface UserMapper {
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "bookings", ignore = true)
     @Mapping(target = "requests", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User mapToModel(UserDto itemDto);
 
     UserDto mapToDto(User user);
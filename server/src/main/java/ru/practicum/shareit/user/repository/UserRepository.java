@@ -1,11 +1,20 @@
 package ru.practicum.shareit.user.repository;
 
 import lombok.Generated;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @Repository
 @Generated
 public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    /**
+     * Страница пользователей по ключу: пользователи с id больше afterId в порядке возрастания id.
+     * Размер страницы задается через pageable, подсчет общего количества не выполняется.
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
 }
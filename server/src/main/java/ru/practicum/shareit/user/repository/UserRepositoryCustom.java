@@ -9,4 +9,12 @@ import java.util.Map;
 @Repository
 public interface UserRepositoryCustom {
     User updateUser(User user, Map<UpdatedUserFields, Boolean> targetFields);
+
+    /**
+     * Удаление пользователя вместе с его вещами, запросами, бронированиями и комментариями
+     * (в том числе чужими бронированиями и комментариями к его вещам) в одной транзакции
+     * набором групповых запросов, без загрузки удаляемых сущностей.
+     * Чужие вещи, добавленные в ответ на запросы пользователя, отвязываются от запросов.
+     */
+    void deleteUserCascade(long userId);
 }
@@ -1,51 +1,98 @@
 package ru.practicum.shareit.user.repository.impl;
 
-import org.springframework.context.annotation.Lazy;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.exception.DuplicateEmailException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.repository.UserRepositoryCustom;
 import ru.practicum.shareit.user.service.UpdatedUserFields;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
 import java.util.Map;
-import java.util.Optional;
 
 @Transactional
 public class UserRepositoryImpl implements UserRepositoryCustom {
 
-    private final UserRepository userRepository;
-
-    public UserRepositoryImpl(@Lazy UserRepository userRepository) {
-        this.userRepository = userRepository;
-    }
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    /**
+     * Пользователь читается с блокировкой строки, поэтому параллельные изменения одного пользователя ждут
+     * друг друга, а не завершаются ошибкой оптимистичной блокировки. Изменяется управляемая сущность:
+     * во втором уровне кэша обновляется только запись этого пользователя, а не сбрасывается весь регион,
+     * как при массовом UPDATE. Занятость email проверяется до изменения, поэтому при конфликте
+     * транзакция не откатывается.
+     */
     @Override
+    @Transactional(noRollbackFor = DuplicateEmailException.class)
     public User updateUser(User user, Map<UpdatedUserFields, Boolean> targetFields) {
         long id = user.getId();
-        Optional<User> userOptional = userRepository.findById(id);
+        User existingUser = entityManager.find(User.class, id, LockModeType.PESSIMISTIC_WRITE);
 
-        if (userOptional.isPresent()) {
-            User existingUser = userOptional.get();
-            String name = user.getName();
-            String newEmail = user.getEmail();
-            User newUser;
+        if (existingUser == null) {
+            throw new UserNotFoundException("Ошибка обновления: пользователь с id=%d не найден.", id);
+        }
 
-            if (!targetFields.get(UpdatedUserFields.NAME)) {
-                name = existingUser.getName();
-            }
-            if (!targetFields.get(UpdatedUserFields.EMAIL)) {
-                newEmail = existingUser.getEmail();
+        if (targetFields.get(UpdatedUserFields.EMAIL)) {
+            boolean emailTaken = !entityManager.createQuery(
+                            "SELECT u.id FROM User u WHERE u.email = :email AND u.id <> :id", Long.class)
+                    .setParameter("email", user.getEmail())
+                    .setParameter("id", id)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+
+            if (emailTaken) {
+                throw new DuplicateEmailException("Ошибка обновления пользователя: такой email уже существует.");
             }
-            newUser = User.builder()
-                    .id(id)
-                    .name(name)
-                    .email(newEmail)
-                    .build();
+            existingUser.setEmail(user.getEmail());
+        }
+        if (targetFields.get(UpdatedUserFields.NAME)) {
+            existingUser.setName(user.getName());
+        }
+
+        entityManager.flush();
+        return existingUser;
+    }
+
+    /**
+     * Версии затронутых чужих вещей увеличиваются до удаления связанных строк, чтобы сменились их ETag.
+     */
+    @Override
+    public void deleteUserCascade(long userId) {
+        entityManager.createQuery("UPDATE Item i SET i.version = i.version + 1 " +
+                        "WHERE i.owner.id <> :userId " +
+                        "AND (i.id IN (SELECT b.item.id FROM Booking b WHERE b.booker.id = :userId) " +
+                        "OR i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = :userId))")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createQuery("UPDATE Item i SET i.request = NULL, i.version = i.version + 1 " +
+                        "WHERE i.request.id IN (SELECT r.id FROM ItemRequest r WHERE r.requester.id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM Comment c WHERE c.author.id = :userId " +
+                        "OR c.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM Booking b WHERE b.booker.id = :userId " +
+                        "OR b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM Item i WHERE i.owner.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM ItemRequest r WHERE r.requester.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
 
-            return userRepository.save(newUser);
+        int deletedUsers = entityManager.createQuery("DELETE FROM User u WHERE u.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
 
-        } else throw new UserNotFoundException(
-                String.format("Ошибка обновления: пользователь с id=%d не найден.", id));
+        if (deletedUsers == 0) {
+            throw new UserNotFoundException("Ошибка удаления: пользователь с id=%d не найден.", userId);
+        }
     }
 }
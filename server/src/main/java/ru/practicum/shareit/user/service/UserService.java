@@ -4,6 +4,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -13,7 +14,9 @@ public interface UserService {
 
     User getUser(long userId);
 
-    Collection<UserDto> getUsers();
+    Collection<UserDto> getUsers(long afterId, int size);
+
+    void forEachUsersBatch(int batchSize, Consumer<Collection<UserDto>> batchConsumer);
 
     boolean userNotFound(long userId);
 
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Множество положительных long-ключей на открытой адресации с линейным пробированием, без упаковки в Long.
+ * Размер ограничен: при достижении предела множество очищается и заполняется заново.
+ * Класс не потокобезопасен, синхронизация выполняется вызывающей стороной.
+ */
+class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private final long[] table;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+
+    LongHashSet(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        int capacity = Integer.highestOneBit(this.maxSize * 2 - 1) << 1;
+        this.table = new long[Math.max(2, capacity)];
+        this.mask = table.length - 1;
+    }
+
+    boolean contains(long key) {
+        if (key == EMPTY) {
+            return false;
+        }
+        for (int i = index(key); table[i] != EMPTY; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(long key) {
+        if (key <= EMPTY || contains(key)) {
+            return;
+        }
+        if (size >= maxSize) {
+            clear();
+        }
+
+        int i = index(key);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        size++;
+    }
+
+    /**
+     * Удаление со сдвигом последующих элементов цепочки, чтобы не оставлять в таблице «надгробий».
+     */
+    void remove(long key) {
+        if (key == EMPTY) {
+            return;
+        }
+        int gap = index(key);
+        while (table[gap] != key) {
+            if (table[gap] == EMPTY) {
+                return;
+            }
+            gap = (gap + 1) & mask;
+        }
+
+        for (int i = (gap + 1) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int home = index(table[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = EMPTY;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int index(long key) {
+        int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.user.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш пользователей для проверок на горячем пути: множество id существующих пользователей
+ * и LRU-таблица снимков пользователей. Снимки отдаются копиями без связанных коллекций,
+ * поэтому их можно использовать как ссылки в новых сущностях, но нельзя изменять через них пользователя.
+ * Отсутствующие пользователи не кэшируются, так как они могут быть добавлены в любой момент.
+ */
+@Component
+public class UserCache {
+
+    private final LongHashSet existingIds;
+    private final Map<Long, User> snapshots;
+    private final Counter existenceHits;
+    private final Counter existenceMisses;
+    private final Counter snapshotHits;
+    private final Counter snapshotMisses;
+    private long generation;
+
+    public UserCache(@Value("${shareit.user-cache.max-ids:100000}") int maxIds,
+                     @Value("${shareit.user-cache.max-snapshots:10000}") int maxSnapshots,
+                     MeterRegistry meterRegistry) {
+        this.existingIds = new LongHashSet(maxIds);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, User> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+        this.existenceHits = meterRegistry.counter("shareit.user.cache.requests", "cache", "existence", "result", "hit");
+        this.existenceMisses = meterRegistry.counter("shareit.user.cache.requests", "cache", "existence", "result", "miss");
+        this.snapshotHits = meterRegistry.counter("shareit.user.cache.requests", "cache", "snapshot", "result", "hit");
+        this.snapshotMisses = meterRegistry.counter("shareit.user.cache.requests", "cache", "snapshot", "result", "miss");
+        Gauge.builder("shareit.user.cache.size", this, UserCache::getExistingIdsCount)
+                .tag("cache", "existence")
+                .register(meterRegistry);
+        Gauge.builder("shareit.user.cache.size", this, UserCache::getSnapshotsCount)
+                .tag("cache", "snapshot")
+                .register(meterRegistry);
+    }
+
+    public synchronized boolean isKnown(long userId) {
+        boolean known = existingIds.contains(userId);
+
+        (known ? existenceHits : existenceMisses).increment();
+        return known;
+    }
+
+    public synchronized User getSnapshot(long userId) {
+        User user = snapshots.get(userId);
+
+        if (user == null) {
+            snapshotMisses.increment();
+            return null;
+        }
+        snapshotHits.increment();
+        return copyOf(user);
+    }
+
+    /**
+     * Номер поколения инвалидаций. Данные, прочитанные из базы до очередной инвалидации,
+     * в кэш не попадают, иначе удаленный пользователь мог бы вернуться в кэш.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized void putExisting(long userId, long readGeneration) {
+        if (readGeneration == generation) {
+            existingIds.add(userId);
+        }
+    }
+
+    public synchronized void put(User user, long readGeneration) {
+        if (readGeneration == generation) {
+            existingIds.add(user.getId());
+            snapshots.put(user.getId(), copyOf(user));
+        }
+    }
+
+    public synchronized void invalidate(long userId) {
+        generation++;
+        existingIds.remove(userId);
+        snapshots.remove(userId);
+    }
+
+    public synchronized int getExistingIdsCount() {
+        return existingIds.size();
+    }
+
+    public synchronized int getSnapshotsCount() {
+        return snapshots.size();
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build();
+    }
+}
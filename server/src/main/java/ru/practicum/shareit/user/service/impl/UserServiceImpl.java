@@ -3,8 +3,15 @@ package ru.practicum.shareit.user.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.service.RecentRequestsWindow;
+import ru.practicum.shareit.request.service.RequestMatcher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.DuplicateEmailException;
 import ru.practicum.shareit.user.exception.EmptyUserPatchRequestException;
@@ -17,8 +24,10 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +35,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final RequestMatcher requestMatcher;
+    private final RecentRequestsWindow recentRequests;
 
     @Override
     public UserDto addUser(UserDto userDto) {
@@ -52,29 +66,76 @@ public class UserServiceImpl implements UserService {
         return userMapper.mapToDto(this.getUser(userId));
     }
 
+    /**
+     * Пользователь сначала ищется в кэше. Из кэша возвращается копия без связанных коллекций.
+     */
     @Override
     public User getUser(long userId) {
+        User cachedUser = userCache.getSnapshot(userId);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
+        long generation = userCache.getGeneration();
         Optional<User> user = userRepository.findById(userId);
 
         if (user.isEmpty()) {
             throw new UserNotFoundException(
-                    String.format("Ошибка получения: пользователь с id=%d не найден.", userId));
+                    "Ошибка получения: пользователь с id=%d не найден.", userId);
         }
 
+        userCache.put(user.get(), generation);
         return user.get();
     }
 
+    /**
+     * Страница пользователей по ключу user_id: в отличие от смещения, стоимость запроса не растет
+     * с номером страницы. Размер страницы ограничен MAX_PAGE_SIZE, полная выгрузка доступна
+     * только через forEachUsersBatch.
+     */
     @Override
-    public Collection<UserDto> getUsers() {
+    public Collection<UserDto> getUsers(long afterId, int size) {
+        Pageable pageable = PageRequest.ofSize(Math.min(size, MAX_PAGE_SIZE));
 
-        return userRepository.findAll().stream()
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable).stream()
                 .map(userMapper::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Последовательный обход всех пользователей пачками, в памяти одновременно находится только одна пачка.
+     */
+    @Override
+    public void forEachUsersBatch(int batchSize, Consumer<Collection<UserDto>> batchConsumer) {
+        long afterId = 0;
+        List<User> batch;
+
+        do {
+            batch = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            batchConsumer.accept(batch.stream()
+                    .map(userMapper::mapToDto)
+                    .collect(Collectors.toList()));
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize);
+    }
+
     @Override
     public boolean userNotFound(long userId) {
-        return !userRepository.existsById(userId);
+        if (userCache.isKnown(userId)) {
+            return false;
+        }
+
+        long generation = userCache.getGeneration();
+        boolean exists = userRepository.existsById(userId);
+
+        if (exists) {
+            userCache.putExisting(userId, generation);
+        }
+        return !exists;
     }
 
     @Override
@@ -106,28 +167,38 @@ public class UserServiceImpl implements UserService {
 
         try {
             user = userRepository.updateUser(user, targetFields);
+            userCache.invalidate(userId);
 
             log.debug("Обновлен пользователь: {}", user);
             return userMapper.mapToDto(user);
 
         } catch (DataIntegrityViolationException e) {
+            // Конфликт email обычно определяется в репозитории без ошибки базы,
+            // сюда попадает только гонка двух одновременных изменений.
             throw new DuplicateEmailException("Ошибка обновления пользователя: такой email уже существует.");
         }
     }
 
     /**
-     * При удалении пользователя также вызывается метод удаления всех вещей, которыми он владеет.
+     * Вместе с пользователем удаляются его вещи, запросы, бронирования и комментарии.
+     * Запросы, у которых после этого не осталось ответных вещей, снова становятся открытыми для подбора.
+     * После фиксации удаления пользователь вытесняется из кэша.
      */
     @Override
+    @Transactional
     public void deleteUser(long id) {
-        if (userRepository.existsById(id)) {
-            Optional<User> userOptional = userRepository.findById(id);
-            if (userOptional.isPresent()) {
-                itemRepository.deleteAllByOwner(userOptional.get());
-
-            } else throw new RuntimeException();
-            userRepository.deleteById(id);
-
-        } else throw new UserNotFoundException(String.format("Ошибка удаления: пользователь с id=%d не найден.", id));
+        List<Long> answeredRequestIds = itemRepository.findAnsweredRequestIdsByOwnerId(id);
+
+        userRepository.deleteUserCascade(id);
+        requestMatcher.removeUser(id);
+        requestMatcher.reopenRequests(answeredRequestIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.invalidate(id);
+                recentRequests.removeRequester(id);
+            }
+        });
+        log.debug("Удален пользователь с id={}", id);
     }
 }
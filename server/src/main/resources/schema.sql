@@ -1,30 +1,46 @@
+-- Существующие базы Postgres: после этого скрипта sequences-postgresql.sql сдвигает последовательности
+-- за уже занятые id.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    user_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id   BIGINT NOT NULL,
     user_name VARCHAR(255) NOT NULL,
     email     VARCHAR(512) NOT NULL,
+    version   BIGINT       NOT NULL DEFAULT 0,
     CONSTRAINT pk_user PRIMARY KEY (user_id),
     CONSTRAINT uq_email UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    request_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    request_id  BIGINT NOT NULL,
     requester   BIGINT        NOT NULL,
     description VARCHAR(1024) NOT NULL,
     created     TIMESTAMP     NOT NULL,
+    version     BIGINT        NOT NULL DEFAULT 0,
     CONSTRAINT pk_request PRIMARY KEY (request_id),
     CONSTRAINT fk_requested_by_user FOREIGN KEY (requester) REFERENCES users (user_id) ON UPDATE CASCADE
 );
 
 CREATE TABLE IF NOT EXISTS items
 (
-    item_id     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    item_id     BIGINT NOT NULL,
     owner_id    BIGINT,
     item_name   VARCHAR(255)  NOT NULL,
     description VARCHAR(1024) NOT NULL,
     available   BOOLEAN       NOT NULL,
     for_request BIGINT        NULL,
+    version     BIGINT        NOT NULL DEFAULT 0,
     CONSTRAINT pk_item PRIMARY KEY (item_id),
     CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (user_id) ON UPDATE CASCADE,
     CONSTRAINT fk_added_for_request FOREIGN KEY (for_request) REFERENCES requests (request_id) ON UPDATE CASCADE,
@@ -33,12 +49,13 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    booking_id BIGINT NOT NULL,
     for_item   BIGINT,
     by_user    BIGINT,
     start_time TIMESTAMP NOT NULL,
     end_time   TIMESTAMP NOT NULL,
     approved   BOOLEAN   NULL,
+    version    BIGINT    NOT NULL DEFAULT 0,
     CONSTRAINT pk_booking PRIMARY KEY (booking_id),
     CONSTRAINT fk_booking_item FOREIGN KEY (for_item) REFERENCES items (item_id) ON UPDATE CASCADE,
     CONSTRAINT fk_booking_user FOREIGN KEY (by_user) REFERENCES users (user_id) ON UPDATE CASCADE,
@@ -47,7 +64,7 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    comment_id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    comment_id        BIGINT NOT NULL,
     author_id         BIGINT,
     commented_item_id BIGINT,
     comment_text      VARCHAR(1024) NOT NULL,
@@ -56,4 +73,19 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT fk_comment_user FOREIGN KEY (author_id) REFERENCES users (user_id) ON UPDATE CASCADE,
     CONSTRAINT fk_comment_item FOREIGN KEY (commented_item_id) REFERENCES items (item_id) ON UPDATE CASCADE,
     CONSTRAINT com_text_not_blank CHECK (LENGTH(comment_text) > 0)
-);
\ No newline at end of file
+);
+
+-- Столбцы версий для ETag: в базах, созданных до их появления, таблицы уже существуют.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester, created);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, request_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_for_request ON items (for_request);
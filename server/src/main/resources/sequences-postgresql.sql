@@ -0,0 +1,31 @@
+-- Базы, созданные до перехода на последовательности, уже содержат строки с id из IDENTITY-столбцов,
+-- а последовательности в них создаются заново с 1. Последовательность, отстающая от наибольшего id
+-- своей таблицы, сдвигается за него; остальные не меняются, чтобы не выдать повторно блоки pooled-lo.
+
+SELECT setval('users_seq', (SELECT MAX(user_id) + 1 FROM users), false)
+WHERE (SELECT MAX(user_id) FROM users) >= (SELECT COALESCE(last_value + increment_by, start_value)
+                                           FROM pg_sequences
+                                           WHERE schemaname = current_schema() AND sequencename = 'users_seq');
+
+SELECT setval('requests_seq', (SELECT MAX(request_id) + 1 FROM requests), false)
+WHERE (SELECT MAX(request_id) FROM requests) >= (SELECT COALESCE(last_value + increment_by, start_value)
+                                                 FROM pg_sequences
+                                                 WHERE schemaname = current_schema()
+                                                   AND sequencename = 'requests_seq');
+
+SELECT setval('items_seq', (SELECT MAX(item_id) + 1 FROM items), false)
+WHERE (SELECT MAX(item_id) FROM items) >= (SELECT COALESCE(last_value + increment_by, start_value)
+                                           FROM pg_sequences
+                                           WHERE schemaname = current_schema() AND sequencename = 'items_seq');
+
+SELECT setval('bookings_seq', (SELECT MAX(booking_id) + 1 FROM bookings), false)
+WHERE (SELECT MAX(booking_id) FROM bookings) >= (SELECT COALESCE(last_value + increment_by, start_value)
+                                                 FROM pg_sequences
+                                                 WHERE schemaname = current_schema()
+                                                   AND sequencename = 'bookings_seq');
+
+SELECT setval('comments_seq', (SELECT MAX(comment_id) + 1 FROM comments), false)
+WHERE (SELECT MAX(comment_id) FROM comments) >= (SELECT COALESCE(last_value + increment_by, start_value)
+                                                 FROM pg_sequences
+                                                 WHERE schemaname = current_schema()
+                                                   AND sequencename = 'comments_seq');
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -40,6 +42,8 @@ public class BookingControllerTest {
     private int port;
     @Autowired
     private MockMvc mvc;
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     @Autowired
     private ObjectMapper mapper;
 
@@ -253,6 +257,66 @@ public class BookingControllerTest {
                 mapper.readValue(response.getContentAsString(), BookingDto.class).getStatus());
     }
 
+    @Test
+    public void shouldReturnNotModifiedForUnchangedBookingList() throws Exception {
+        UserDto owner = addDefaultUser("some@mail.com");
+        UserDto booker = addDefaultUser("another@mail.com");
+        long itemId = addDefaultItem(owner.getId()).getId();
+        BookingDto booking = addBooking(makeDefaultBookingDtoRequest(itemId), booker.getId());
+
+        MockHttpServletResponse firstResponse = mvc.perform(
+                        get(getDefaultUri() + "/owner")
+                                .headers(getDefaultHeader(owner.getId()))
+                                .param("state", "ALL")
+                                .param("from", "0")
+                                .param("size", "10"))
+                .andReturn().getResponse();
+        String eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+
+        HttpHeaders conditionalHeaders = getDefaultHeader(owner.getId());
+        conditionalHeaders.setIfNoneMatch(eTag);
+        MockHttpServletResponse notModifiedResponse = mvc.perform(
+                        get(getDefaultUri() + "/owner")
+                                .headers(conditionalHeaders)
+                                .param("state", "ALL")
+                                .param("from", "0")
+                                .param("size", "10"))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModifiedResponse.getStatus());
+        assertEquals("", notModifiedResponse.getContentAsString());
+
+        setApproved(owner.getId(), booking.getId(), true);
+        MockHttpServletResponse modifiedResponse = mvc.perform(
+                        get(getDefaultUri() + "/owner")
+                                .headers(conditionalHeaders)
+                                .param("state", "ALL")
+                                .param("from", "0")
+                                .param("size", "10"))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.OK.value(), modifiedResponse.getStatus());
+    }
+
+    @Test
+    public void shouldReturnSmileBodyWithIsoDatesWhenRequested() throws Exception {
+        UserDto owner = addDefaultUser("some@mail.com");
+        UserDto booker = addDefaultUser("another@mail.com");
+        long itemId = addDefaultItem(owner.getId()).getId();
+        BookingDto booking = addBooking(makeDefaultBookingDtoRequest(itemId), booker.getId());
+
+        MockHttpServletResponse response = mvc.perform(
+                        get(getDefaultUri() + "/" + booking.getId())
+                                .accept(SMILE)
+                                .headers(getDefaultHeader(booker.getId())))
+                .andReturn().getResponse();
+        JsonNode body = new ObjectMapper(new SmileFactory()).readTree(response.getContentAsByteArray());
+
+        assertEquals(SMILE.toString(), response.getContentType());
+        assertEquals(booking.getId(), body.get("id").asLong());
+        assertEquals(booking.getStart(), LocalDateTime.parse(body.get("start").asText()));
+    }
+
     private String getDefaultUri() {
         return String.format("http://localhost:%d/bookings", port);
     }
@@ -2,34 +2,45 @@ package ru.practicum.shareit.booking.repository;
 
 import lombok.AllArgsConstructor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.QueryCountExtension;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @AllArgsConstructor(onConstructor_ = @Autowired)
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Sql(scripts = "classpath:schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 public class BookingRepositoryTest {
 
+    @RegisterExtension
+    static QueryCountExtension queries = new QueryCountExtension();
+
     private UserRepository userRepository;
     private ItemRepository itemRepository;
     private BookingRepository bookingRepository;
+    private TestEntityManager entityManager;
 
     @Test
     public void getAllByBookerIdOrItemOwnerIdOrderByStartTimeDescTest() {
@@ -218,6 +229,31 @@ public class BookingRepositoryTest {
                 bookingRepository.getAllByItemOwnerId(owner2.getId()));
     }
 
+    @Test
+    public void shouldInsertBookingsInJdbcBatches() throws Throwable {
+        User owner = userRepository.save(makeDefaultUser());
+        Item item = itemRepository.save(makeDefaultItem(owner));
+        User booker = makeDefaultUser();
+        booker.setEmail("new@mail.ru");
+        User savedBooker = userRepository.save(booker);
+        entityManager.flush();
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Booking booking = makeDefaultBooking(item, savedBooker);
+            booking.setStartTime(booking.getStartTime().plusDays(2L * i));
+            booking.setEndTime(booking.getEndTime().plusDays(2L * i));
+            bookings.add(booking);
+        }
+
+        queries.assertMaxQueries(6, () -> {
+            bookingRepository.saveAll(bookings);
+            entityManager.flush();
+            return null;
+        });
+        assertEquals(120, bookingRepository.getAllByItemOwnerId(owner.getId()).size());
+    }
+
     private Booking makeDefaultBooking(Item item, User booker) {
         return Booking.builder()
                 .item(item)
@@ -14,16 +14,26 @@ import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ActualItemBooking;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +47,8 @@ public class BookingServiceTest {
     private UserService userService;
     private ItemService itemService;
     private BookingService bookingService;
+    private ItemRepository itemRepository;
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     public void addBookingTest() {
@@ -111,6 +123,40 @@ public class BookingServiceTest {
         assertThrows(TimeWindowOccupiedException.class, () -> bookingService.addBooking(booking3, finalBooker.getId()));
     }
 
+    @Test
+    public void shouldRejectBookingOverlappingStartedWindowAndAcceptAdjacentOrRejectedWindows() {
+        LocalDateTime timePoint1 = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime timePoint2 = timePoint1.plusDays(1);
+        LocalDateTime timePoint3 = timePoint2.plusDays(1);
+        LocalDateTime timePoint4 = timePoint3.plusDays(1);
+
+        UserDto user = userService.addUser(makeDefaultUser());
+        long itemId = itemService.addItem(makeDefaultItem(), user.getId()).getId();
+
+        UserDto booker = makeDefaultUser();
+        booker.setEmail("new@mail.ru");
+        long bookerId = userService.addUser(booker).getId();
+
+        BookingDtoRequest booking1 = makeDefaultBookingDtoRequest(itemId);
+        booking1.setStart(timePoint1);
+        booking1.setEnd(timePoint3);
+        long booking1Id = bookingService.addBooking(booking1, bookerId).getId();
+
+        BookingDtoRequest booking2 = makeDefaultBookingDtoRequest(itemId);
+        booking2.setStart(timePoint2);
+        booking2.setEnd(timePoint4);
+        assertThrows(TimeWindowOccupiedException.class, () -> bookingService.addBooking(booking2, bookerId));
+
+        BookingDtoRequest booking3 = makeDefaultBookingDtoRequest(itemId);
+        booking3.setStart(timePoint3);
+        booking3.setEnd(timePoint4);
+        bookingService.addBooking(booking3, bookerId);
+
+        bookingService.setApproval(booking1Id, false, user.getId());
+        booking2.setEnd(timePoint3);
+        assertEquals(BookingStatus.WAITING, bookingService.addBooking(booking2, bookerId).getStatus());
+    }
+
     @Test
     public void shouldThrowExceptionForBookingOwnedItem() {
         UserDto user = userService.addUser(makeDefaultUser());
@@ -403,6 +449,85 @@ public class BookingServiceTest {
                 () -> bookingService.setApproval(booking.getId(), false, user.getId()));
     }
 
+    @Test
+    public void shouldAcceptConcurrentBookingsAndApprovalsOfSameItem() throws Exception {
+        int bookers = 6;
+        UserDto owner = userService.addUser(makeDefaultUser());
+        ItemDto item = itemService.addItem(makeDefaultItem(), owner.getId());
+        long initialVersion = itemRepository.findVersionById(item.getId()).orElseThrow().getVersion();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<Callable<BookingDto>> bookingCalls = new ArrayList<>();
+        for (int i = 0; i < bookers; i++) {
+            UserDto booker = makeDefaultUser();
+            booker.setEmail("booker" + i + "@mail.ru");
+            long bookerId = userService.addUser(booker).getId();
+            BookingDtoRequest request = BookingDtoRequest.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(2L * i))
+                    .end(start.plusDays(2L * i + 1))
+                    .build();
+            bookingCalls.add(() -> bookingService.addBooking(request, bookerId));
+        }
+        List<BookingDto> bookings = runConcurrently(bookingCalls);
+
+        List<Callable<BookingDto>> approvalCalls = new ArrayList<>();
+        for (BookingDto booking : bookings) {
+            approvalCalls.add(() -> bookingService.setApproval(booking.getId(), true, owner.getId()));
+        }
+        runConcurrently(approvalCalls);
+
+        assertEquals(initialVersion + 2L * bookers,
+                itemRepository.findVersionById(item.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void shouldIncrementItemVersionWithoutEvictingOtherCachedItems() {
+        UserDto owner = userService.addUser(makeDefaultUser());
+        long itemId = itemService.addItem(makeDefaultItem(), owner.getId()).getId();
+        long otherItemId = itemService.addItem(makeDefaultItem(), owner.getId()).getId();
+        UserDto booker = makeDefaultUser();
+        booker.setEmail("new@mail.ru");
+        long bookerId = userService.addUser(booker).getId();
+
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        long initialVersion = itemService.getItem(itemId).getVersion();
+        itemService.getItem(otherItemId);
+
+        BookingDto booking = bookingService.addBooking(makeDefaultBookingDtoRequest(itemId), bookerId);
+        bookingService.setApproval(booking.getId(), true, owner.getId());
+
+        assertTrue(cache.contains(Item.class, otherItemId));
+        assertEquals(initialVersion + 2, itemRepository.findVersionById(itemId).orElseThrow().getVersion());
+        assertEquals(initialVersion + 2, itemService.getItem(itemId).getVersion());
+        assertEquals("Renamed", itemService.updateItem(
+                ItemDto.builder().name("Renamed").build(), itemId, owner.getId()).getName());
+    }
+
+    private <T> List<T> runConcurrently(List<Callable<T>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        List<T> results = new ArrayList<>();
+
+        try {
+            for (Callable<T> call : calls) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
     private BookingDtoRequest makeDefaultBookingDtoRequest(long itemId) {
         return BookingDtoRequest.builder()
                 .itemId(itemId)
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Сессия без транзакции открывается напрямую через EntityManagerFactory, как ее открыл бы
+ * OpenEntityManagerInViewInterceptor.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class LazyLoadGuardConfigTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Autowired
+    public LazyLoadGuardConfigTest(EntityManagerFactory entityManagerFactory,
+                                   UserService userService,
+                                   ItemService itemService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.userService = userService;
+        this.itemService = itemService;
+    }
+
+    @Test
+    public void shouldFailOnLazyLoadOutsideTransaction() {
+        long itemId = addItem();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            Item item = entityManager.find(Item.class, itemId);
+            assertThrows(LazyInitializationException.class, () -> item.getComments().size());
+
+            entityManager.clear();
+            Item reference = entityManager.getReference(Item.class, itemId);
+            assertThrows(LazyInitializationException.class, reference::getName);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    public void shouldAllowLazyLoadInsideTransaction() {
+        long itemId = addItem();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            entityManager.getTransaction().begin();
+            assertEquals(0, entityManager.find(Item.class, itemId).getComments().size());
+            assertEquals("DEBUGGER 9000", entityManager.getReference(Item.class, itemId).getName());
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private long addItem() {
+        UserDto owner = userService.addUser(UserDto.builder().name("Tom").email("tomsmail@mail.ru").build());
+        ItemDto item = itemService.addItem(ItemDto.builder()
+                .name("DEBUGGER 9000")
+                .description("Launch and debug!")
+                .available(true)
+                .build(), owner.getId());
+        return item.getId();
+    }
+}
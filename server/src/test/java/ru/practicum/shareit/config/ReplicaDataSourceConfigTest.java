@@ -0,0 +1,103 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Реплику заменяет второй пул соединений к той же базе H2 в памяти. Пул реплики запускается
+ * при первом чтении, до этого его метрик нет.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing",
+        "shareit.datasource.replica.url=jdbc:h2:mem:routing",
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReplicaDataSourceConfigTest {
+
+    private final HikariDataSource primaryDataSource;
+    private final HikariDataSource replicaDataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReplicaDataSourceConfigTest(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                       @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       UserRepository userRepository,
+                                       UserService userService,
+                                       ItemService itemService,
+                                       MeterRegistry meterRegistry,
+                                       EntityManagerFactory entityManagerFactory) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.transactionManager = transactionManager;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.itemService = itemService;
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Test
+    public void shouldRouteReadOnlyTransactionsToReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            userRepository.count();
+            assertEquals(1, replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.count();
+            assertEquals(0, replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(1, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+
+    @Test
+    public void shouldServeServiceReadsFromReplica() {
+        UserDto owner = userService.addUser(UserDto.builder().name("Tom").email("tomsmail@mail.ru").build());
+        ItemDto item = itemService.addItem(ItemDto.builder()
+                .name("DEBUGGER 9000")
+                .description("Launch and debug!")
+                .available(true)
+                .build(), owner.getId());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        double replicaAcquiresBefore = replicaAcquires();
+
+        assertEquals("DEBUGGER 9000", itemService.getItemDto(item.getId(), owner.getId()).getName());
+        assertEquals(1, itemService.getOwnerItems(owner.getId(), 0, 10).size());
+        assertTrue(replicaAcquires() >= replicaAcquiresBefore + 2);
+    }
+
+    private double replicaAcquires() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "shareit-replica").timer();
+        return acquire == null ? 0 : acquire.count();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ShareItExceptionTest {
+
+    @Test
+    public void shouldFormatMessageOnFirstAccessOnly() {
+        AtomicInteger formatted = new AtomicInteger();
+        Object id = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "42";
+            }
+        };
+
+        ShareItException exception = new UserNotFoundException("Пользователь с id=%s не найден.", id);
+        assertEquals(0, formatted.get());
+
+        String message = exception.getMessage();
+        assertEquals("Пользователь с id=42 не найден.", message);
+        assertSame(message, exception.getMessage());
+        assertEquals(1, formatted.get());
+    }
+
+    @Test
+    public void shouldReturnTemplateWithoutArgsVerbatim() {
+        assertEquals("Скидка 100% для id=%d", new UserNotFoundException("Скидка 100% для id=%d").getMessage());
+        assertEquals("Скидка 100%", new UserNotFoundException("Скидка 100%", (Object[]) null).getMessage());
+    }
+
+    @Test
+    public void shouldNotFillStackTrace() {
+        ShareItException exception = new UserNotFoundException("Пользователь с id=%d не найден.", 1L);
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, exception.fillInStackTrace().getStackTrace().length);
+
+        exception.addSuppressed(new IllegalStateException());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+}
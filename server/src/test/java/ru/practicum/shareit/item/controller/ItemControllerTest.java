@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -17,8 +18,11 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.cache.CacheTags;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.metrics.QueryCountExtension;
+import ru.practicum.shareit.metrics.QueryCountFilter;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
@@ -26,6 +30,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -35,6 +40,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 @AutoConfigureMockMvc
 public class ItemControllerTest {
 
+    @RegisterExtension
+    static QueryCountExtension queries = new QueryCountExtension();
+
     @LocalServerPort
     private int port;
     @Autowired
@@ -140,6 +148,28 @@ public class ItemControllerTest {
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
     }
 
+    @Test
+    public void shouldThrowExceptionForGettingItemByAbsentUser() throws Exception {
+        addDefaultUser(null);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        mvc.perform(
+                post(getDefaultUri())
+                        .headers(headers)
+                        .content(mapper.writeValueAsString(makeDefaultItemDto()))
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        headers.set("X-Sharer-User-Id", "2");
+        MockHttpServletResponse response = mvc.perform(
+                        get(getDefaultUri() + "/1")
+                                .headers(headers)
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+    }
+
     @Test
     public void searchAvailableItemsTest() throws Exception {
         addDefaultUser(null);
@@ -297,6 +327,94 @@ public class ItemControllerTest {
         assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatus());
     }
 
+    @Test
+    public void shouldReturnNotModifiedForUnchangedItem() throws Exception {
+        UserDto owner = addDefaultUser(null);
+        UserDto booker = addDefaultUser("new@mail.ru");
+        ItemDto item = addItem(makeDefaultItemDto(), owner.getId());
+
+        MockHttpServletResponse firstResponse = mvc.perform(
+                        get(getDefaultUri() + "/" + item.getId())
+                                .headers(getDefaultHeader(owner.getId())))
+                .andReturn().getResponse();
+        String eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+
+        HttpHeaders conditionalHeaders = getDefaultHeader(owner.getId());
+        conditionalHeaders.setIfNoneMatch(eTag);
+        MockHttpServletResponse notModifiedResponse = mvc.perform(
+                        get(getDefaultUri() + "/" + item.getId())
+                                .headers(conditionalHeaders))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.OK.value(), firstResponse.getStatus());
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModifiedResponse.getStatus());
+        assertEquals("", notModifiedResponse.getContentAsString());
+
+        addBooking(makeDefaultBookingDtoRequest(item.getId()), booker.getId());
+        MockHttpServletResponse modifiedResponse = mvc.perform(
+                        get(getDefaultUri() + "/" + item.getId())
+                                .headers(conditionalHeaders))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.OK.value(), modifiedResponse.getStatus());
+        assertNotEquals(eTag, modifiedResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void shouldMarkSearchResultsWithCacheTagsAndPurgeThemOnChanges() throws Exception {
+        UserDto owner = addDefaultUser(null);
+        UserDto booker = addDefaultUser("new@mail.ru");
+
+        MockHttpServletResponse addResponse = mvc.perform(
+                        post(getDefaultUri())
+                                .headers(getDefaultHeader(owner.getId()))
+                                .content(mapper.writeValueAsString(makeDefaultItemDto()))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        ItemDto item = mapper.readValue(addResponse.getContentAsString(), ItemDto.class);
+
+        MockHttpServletResponse searchResponse = mvc.perform(
+                        get(getDefaultUri() + "/search")
+                                .headers(getDefaultHeader(booker.getId()))
+                                .param("text", "debugger")
+                                .param("from", "0")
+                                .param("size", "10"))
+                .andReturn().getResponse();
+
+        MockHttpServletResponse bookingResponse = mvc.perform(
+                        post(String.format("http://localhost:%d/bookings", port))
+                                .content(mapper.writeValueAsString(makeDefaultBookingDtoRequest(item.getId())))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .headers(getDefaultHeader(booker.getId())))
+                .andReturn().getResponse();
+
+        assertEquals(CacheTags.ITEMS, addResponse.getHeader(CacheTags.PURGE_HEADER));
+        assertEquals("items,item:" + item.getId(), searchResponse.getHeader(CacheTags.TAGS_HEADER));
+        assertEquals("item:" + item.getId(), bookingResponse.getHeader(CacheTags.PURGE_HEADER));
+    }
+
+    @Test
+    public void shouldKeepOwnerItemsWithinQueryBudget() throws Throwable {
+        UserDto owner = addDefaultUser(null);
+        UserDto booker = addDefaultUser("new@mail.ru");
+
+        for (int i = 0; i < 4; i++) {
+            ItemDto item = addItem(makeDefaultItemDto(), owner.getId());
+            addBooking(makeDefaultBookingDtoRequest(item.getId()), booker.getId());
+        }
+
+        // Вещи, комментарии, активные и прошедшие бронирования - независимо от числа вещей.
+        MockHttpServletResponse response = queries.assertMaxQueries(4, () -> mvc.perform(
+                        get(getDefaultUri())
+                                .headers(getDefaultHeader(owner.getId()))
+                                .param("from", "0")
+                                .param("size", "10"))
+                .andReturn().getResponse());
+
+        assertEquals(4, mapper.readValue(response.getContentAsString(), List.class).size());
+        assertEquals(String.valueOf(queries.getQueryCount()), response.getHeader(QueryCountFilter.HEADER));
+    }
+
     private String getDefaultUri() {
         return String.format("http://localhost:%d/items", port);
     }
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -17,6 +19,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @AllArgsConstructor(onConstructor_ = @Autowired)
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -26,25 +29,10 @@ public class ItemRepositoryTest {
     private UserRepository userRepository;
     private ItemRepository itemRepository;
 
-    @Test
-    public void existsItemByIdAndAvailableIsTrueTest() {
-        User user = userRepository.save(makeDefaultUser());
-        Item item1 = itemRepository.save(makeDefaultItem(user));
-        assertTrue(itemRepository.existsItemByIdAndAvailableIsTrue(item1.getId()));
-
-        Item item2 = makeDefaultItem(user);
-        item2.setAvailable(false);
-        item2 = itemRepository.save(item2);
-        assertFalse(itemRepository.existsItemByIdAndAvailableIsTrue(item2.getId()));
-
-        assertFalse(itemRepository.existsItemByIdAndAvailableIsTrue(3));
-    }
-
     @Test
     public void findAllByOwnerIdTest() {
         User user1 = userRepository.save(makeDefaultUser());
         Item item1 = itemRepository.save(makeDefaultItem(user1));
-        assertTrue(itemRepository.existsItemByIdAndAvailableIsTrue(item1.getId()));
         assertEquals(List.of(item1), itemRepository.findAllByOwnerId(user1.getId(), Pageable.unpaged()).getContent());
 
         User user2 = makeDefaultUser();
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -12,6 +14,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.exception.CommenterDontHaveBookingException;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
@@ -19,6 +22,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -36,6 +40,7 @@ public class ItemServiceTest {
     private UserService userService;
     private ItemService itemService;
     private BookingService bookingService;
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     public void addItemTest() {
@@ -134,6 +139,26 @@ public class ItemServiceTest {
                 itemService.getOwnerItems(userDto2.getId(), 0, Integer.MAX_VALUE));
     }
 
+    @Test
+    public void shouldServeItemFromCacheAndRefreshItOnItemUpdate() {
+        UserDto owner = userService.addUser(makeDefaultUser());
+        long itemId = itemService.addItem(makeDefaultItem(), owner.getId()).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertEquals(true, itemService.getItem(itemId).getAvailable());
+        assertEquals(true, itemService.getItem(itemId).getAvailable());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegions.ITEMS).getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegions.ITEMS).getHitCount());
+
+        itemService.updateItem(ItemDto.builder().available(false).build(), itemId, owner.getId());
+
+        statistics.clear();
+        assertEquals(false, itemService.getItem(itemId).getAvailable());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegions.ITEMS).getHitCount());
+    }
+
     private BookingDtoRequest makeDefaultBookingDtoRequest(long itemId) {
         return BookingDtoRequest.builder()
                 .itemId(itemId)
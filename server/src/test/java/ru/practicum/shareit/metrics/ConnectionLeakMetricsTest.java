@@ -0,0 +1,68 @@
+package ru.practicum.shareit.metrics;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Отдельный пул с наименьшим порогом обнаружения утечек, который допускает Hikari (2 с). Счетчики
+ * опрашиваются до появления события, а не после фиксированной паузы, поэтому тест не зависит от того,
+ * насколько точно сработал таймер Hikari.
+ */
+@SpringBootTest
+public class ConnectionLeakMetricsTest {
+
+    private static final long LEAK_DETECTION_THRESHOLD = 2000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ConnectionLeakMetricsTest(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void shouldCountDetectedAndReturnedConnectionLeaks() throws Exception {
+        Counter detected = meterRegistry.get(ConnectionLeakMetrics.LEAKS).tags("event", "detected").counter();
+        Counter returned = meterRegistry.get(ConnectionLeakMetrics.LEAKS).tags("event", "returned").counter();
+        double detectedBefore = detected.count();
+        double returnedBefore = returned.count();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:leaks");
+        config.setMaximumPoolSize(1);
+        config.setLeakDetectionThreshold(LEAK_DETECTION_THRESHOLD);
+
+        try (HikariDataSource pool = new HikariDataSource(config)) {
+            try (Connection connection = pool.getConnection()) {
+                assertTrue(connection.isValid(1));
+                awaitCount(detected, detectedBefore + 1);
+                assertEquals(returnedBefore, returned.count());
+            }
+            awaitCount(returned, returnedBefore + 1);
+        }
+
+        assertEquals(detectedBefore + 1, detected.count());
+    }
+
+    private void awaitCount(Counter counter, double expected) throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+
+        while (counter.count() < expected && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, counter.count());
+    }
+}
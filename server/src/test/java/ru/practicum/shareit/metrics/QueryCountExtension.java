@@ -0,0 +1,47 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Расширение JUnit для проверки числа SQL-запросов. Считаются запросы потока теста,
+ * то есть вызовы сервисов и запросы через MockMvc, но не запросы к серверу на случайном порту.
+ * Подключается полем {@code @RegisterExtension static QueryCountExtension queries = new QueryCountExtension();}.
+ */
+public class QueryCountExtension implements BeforeEachCallback {
+
+    private long statementsBefore;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        reset();
+    }
+
+    public void reset() {
+        statementsBefore = StatementCounters.current().getStatements();
+    }
+
+    /**
+     * @return число SQL-запросов с начала теста или последнего reset().
+     */
+    public long getQueryCount() {
+        return StatementCounters.current().getStatements() - statementsBefore;
+    }
+
+    /**
+     * Выполнение действия с проверкой, что оно выполнило не больше max SQL-запросов.
+     *
+     * @return результат действия.
+     */
+    public <T> T assertMaxQueries(long max, ThrowingSupplier<T> action) throws Throwable {
+        reset();
+        T result = action.get();
+        long queries = getQueryCount();
+
+        assertTrue(queries <= max, String.format("Ожидалось не больше %d SQL-запросов, выполнено %d.", max, queries));
+        return result;
+    }
+}
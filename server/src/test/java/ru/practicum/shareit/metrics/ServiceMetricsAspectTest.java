@@ -0,0 +1,83 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AllArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = "classpath:schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class ServiceMetricsAspectTest {
+
+    private UserService userService;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldRecordServiceCallMetrics() {
+        UserDto owner = userService.addUser(makeDefaultUser());
+        itemService.addItem(makeDefaultItem(), owner.getId());
+        assertEquals(1, itemService.searchAvailableItems(owner.getId(), "debugger", 0, 10).size());
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItem(100L));
+
+        String[] searchTags = {"service", "ItemService", "operation", "searchAvailableItems", "outcome", "success"};
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS).tags(searchTags).timer().count());
+        assertTrue(meterRegistry.get(ServiceMetricsAspect.STATEMENTS).tags(searchTags).summary().totalAmount() >= 1);
+        assertTrue(meterRegistry.get(ServiceMetricsAspect.ENTITIES).tags(searchTags).summary().totalAmount() >= 1);
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS)
+                .tags("service", "ItemService", "operation", "getItem", "outcome", "ItemNotFoundException",
+                        "state", ServiceMetricsAspect.NO_STATE)
+                .timer().count());
+    }
+
+    @Test
+    public void shouldTagBookingSelectionMetricsWithState() {
+        long userId = userService.addUser(makeDefaultUser()).getId();
+        bookingService.getBookingsByUserAndState(userId, null, "future", 0, 10);
+        bookingService.getBookingsByUserAndState(userId, null, null, 0, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsByUserAndState(userId, null, "bogus", 0, 10));
+
+        String[] tags = {"service", "BookingService", "operation", "getBookingsByUserAndState"};
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS).tags(tags)
+                .tags("outcome", "success", "state", "FUTURE").timer().count());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS).tags(tags)
+                .tags("outcome", "success", "state", "ALL").timer().count());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS).tags(tags)
+                .tags("outcome", "IllegalArgumentException", "state", "UNKNOWN").timer().count());
+    }
+
+    private ItemDto makeDefaultItem() {
+        return ItemDto.builder()
+                .name("DEBUGGER 9000")
+                .description("Launch and debug!")
+                .available(true)
+                .build();
+    }
+
+    private UserDto makeDefaultUser() {
+        return UserDto.builder()
+                .name("Tom")
+                .email("tomsmail@mail.ru")
+                .build();
+    }
+}
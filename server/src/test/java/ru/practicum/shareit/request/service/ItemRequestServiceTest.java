@@ -7,17 +7,29 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryDto;
+import ru.practicum.shareit.request.dto.ItemRequestSummaryPageDto;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -29,6 +41,8 @@ public class ItemRequestServiceTest {
 
     private UserService userService;
     private ItemRequestService requestService;
+    private ItemService itemService;
+    private PlatformTransactionManager transactionManager;
 
     @Test
     public void addRequestTest() {
@@ -112,6 +126,194 @@ public class ItemRequestServiceTest {
                 () -> requestService.getOtherUsersRequests(0, 0, Integer.MAX_VALUE));
     }
 
+    @Test
+    public void getRequestFeedTest() {
+        UserDto userDto = userService.addUser(makeDefaultUser());
+
+        UserDto userDto2 = makeDefaultUser();
+        userDto2.setEmail("new@mail.ru");
+        userDto2 = userService.addUser(userDto2);
+
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requestIds.add(requestService.addRequest(makeDefaultRequest(), userDto.getId()).getId());
+        }
+        requestService.addRequest(makeDefaultRequest(), userDto2.getId());
+
+        ItemDto itemDto = ItemDto.builder()
+                .name("Thing")
+                .description("Some thing")
+                .available(true)
+                .requestId(requestIds.get(4))
+                .build();
+        itemDto = itemService.addItem(itemDto, userDto2.getId());
+
+        ItemRequestFeedDto firstPage = requestService.getRequestFeed(userDto2.getId(), null, 2);
+        assertEquals(List.of(requestIds.get(4), requestIds.get(3)), getIds(firstPage));
+        assertEquals(Set.of(itemDto.getId()), firstPage.getRequests().get(0).getItems().stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toSet()));
+        assertNotNull(firstPage.getNextCursor());
+
+        ItemRequestFeedDto secondPage = requestService.getRequestFeed(
+                userDto2.getId(), firstPage.getNextCursor(), 2);
+        assertEquals(List.of(requestIds.get(2), requestIds.get(1)), getIds(secondPage));
+
+        ItemRequestFeedDto lastPage = requestService.getRequestFeed(
+                userDto2.getId(), secondPage.getNextCursor(), 2);
+        assertEquals(List.of(requestIds.get(0)), getIds(lastPage));
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void shouldThrowExceptionForGettingRequestFeedWithMalformedCursor() {
+        UserDto userDto = userService.addUser(makeDefaultUser());
+        assertThrows(IllegalArgumentException.class,
+                () -> requestService.getRequestFeed(userDto.getId(), "not a cursor", 2));
+    }
+
+    @Test
+    public void getOwnRequestSummariesTest() {
+        UserDto userDto = userService.addUser(makeDefaultUser());
+
+        UserDto userDto2 = makeDefaultUser();
+        userDto2.setEmail("new@mail.ru");
+        userDto2 = userService.addUser(userDto2);
+
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requestIds.add(requestService.addRequest(makeDefaultRequest(), userDto.getId()).getId());
+        }
+        requestService.addRequest(makeDefaultRequest(), userDto2.getId());
+
+        for (int i = 0; i < 2; i++) {
+            ItemDto itemDto = makeItem("Thing", "Some thing");
+            itemDto.setRequestId(requestIds.get(1));
+            itemService.addItem(itemDto, userDto2.getId());
+        }
+
+        ItemRequestSummaryPageDto firstPage = requestService.getOwnRequestSummaries(userDto.getId(), null, 2);
+        assertEquals(List.of(requestIds.get(2), requestIds.get(1)), firstPage.getRequests().stream()
+                .map(ItemRequestSummaryDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(0L, 2L), firstPage.getRequests().stream()
+                .map(ItemRequestSummaryDto::getItemCount)
+                .collect(Collectors.toList()));
+        assertEquals("Need some item", firstPage.getRequests().get(0).getDescription());
+
+        ItemRequestSummaryPageDto lastPage = requestService.getOwnRequestSummaries(
+                userDto.getId(), firstPage.getNextCursor(), 2);
+        assertEquals(1, lastPage.getRequests().size());
+        assertEquals(requestIds.get(0), lastPage.getRequests().get(0).getId());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void shouldMatchNewRequestsAndNewItemsByDescription() {
+        UserDto requester = userService.addUser(makeDefaultUser());
+
+        UserDto owner = makeDefaultUser();
+        owner.setEmail("new@mail.ru");
+        owner = userService.addUser(owner);
+
+        ItemDto drill = itemService.addItem(makeItem("Дрель", "Ударная дрель с набором сверл"), owner.getId());
+        itemService.addItem(makeItem("Велосипед", "Горный велосипед"), owner.getId());
+        itemService.addItem(makeItem("Дрель", "Дрель самого пользователя"), requester.getId());
+
+        ItemRequestDto requestDto = ItemRequestDto.builder().description("Нужна дрель для ремонта").build();
+        long requestId = requestService.addRequest(requestDto, requester.getId()).getId();
+        assertEquals(List.of(drill.getId()), getIds(requestService.getMatchingItems(requestId, owner.getId())));
+
+        ItemDto secondDrill = itemService.addItem(makeItem("Дрели", "Две дрели на выбор"), owner.getId());
+        assertEquals(Set.of(drill.getId(), secondDrill.getId()),
+                Set.copyOf(getIds(requestService.getMatchingItems(requestId, requester.getId()))));
+
+        itemService.updateItem(ItemDto.builder().available(false).build(), drill.getId(), owner.getId());
+        assertEquals(List.of(secondDrill.getId()),
+                getIds(requestService.getMatchingItems(requestId, requester.getId())));
+
+        ItemDto answer = makeItem("Перфоратор", "Подойдет вместо дрели");
+        answer.setRequestId(requestId);
+        itemService.addItem(answer, owner.getId());
+        itemService.addItem(makeItem("Дрель", "Еще одна дрель"), owner.getId());
+        assertEquals(List.of(secondDrill.getId()),
+                getIds(requestService.getMatchingItems(requestId, requester.getId())));
+    }
+
+    @Test
+    public void shouldKeepMatcherIndexUnchangedOnRollback() {
+        UserDto requester = userService.addUser(makeDefaultUser());
+        UserDto owner = makeDefaultUser();
+        owner.setEmail("new@mail.ru");
+        long ownerId = userService.addUser(owner).getId();
+
+        ItemRequestDto requestDto = ItemRequestDto.builder().description("Нужна дрель для ремонта").build();
+        long requestId = requestService.addRequest(requestDto, requester.getId()).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ItemDto answer = makeItem("Дрель", "Ударная дрель");
+            answer.setRequestId(requestId);
+            itemService.addItem(answer, ownerId);
+            status.setRollbackOnly();
+        });
+
+        ItemDto drill = itemService.addItem(makeItem("Дрель", "Дрель с набором сверл"), ownerId);
+        assertEquals(List.of(drill.getId()), getIds(requestService.getMatchingItems(requestId, ownerId)));
+    }
+
+    @Test
+    public void shouldReopenRequestWhenOwnerOfAnswerItemIsDeleted() {
+        UserDto requester = userService.addUser(makeDefaultUser());
+        UserDto owner = makeDefaultUser();
+        owner.setEmail("new@mail.ru");
+        long ownerId = userService.addUser(owner).getId();
+        UserDto otherOwner = makeDefaultUser();
+        otherOwner.setEmail("other@mail.ru");
+        long otherOwnerId = userService.addUser(otherOwner).getId();
+
+        ItemRequestDto requestDto = ItemRequestDto.builder().description("Нужна дрель для ремонта").build();
+        long requestId = requestService.addRequest(requestDto, requester.getId()).getId();
+        ItemDto answer = makeItem("Перфоратор", "Подойдет вместо дрели");
+        answer.setRequestId(requestId);
+        itemService.addItem(answer, ownerId);
+
+        ItemDto drill = itemService.addItem(makeItem("Дрель", "Дрель с набором сверл"), otherOwnerId);
+        assertEquals(List.of(), getIds(requestService.getMatchingItems(requestId, requester.getId())));
+
+        userService.deleteUser(ownerId);
+        assertEquals(List.of(drill.getId()), getIds(requestService.getMatchingItems(requestId, requester.getId())));
+
+        ItemDto secondDrill = itemService.addItem(makeItem("Дрель", "Ударная дрель"), otherOwnerId);
+        assertEquals(Set.of(drill.getId(), secondDrill.getId()),
+                Set.copyOf(getIds(requestService.getMatchingItems(requestId, requester.getId()))));
+    }
+
+    @Test
+    public void shouldThrowExceptionForGettingMatchingItemsOfNotFoundRequest() {
+        UserDto userDto = userService.addUser(makeDefaultUser());
+        assertThrows(RequestNotFoundException.class, () -> requestService.getMatchingItems(0, userDto.getId()));
+    }
+
+    private List<Long> getIds(Collection<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private ItemDto makeItem(String name, String description) {
+        return ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+
+    private List<Long> getIds(ItemRequestFeedDto feed) {
+        return feed.getRequests().stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+    }
+
     private ItemRequestDto makeDefaultRequest() {
         return ItemRequestDto.builder()
                 .description("Need some item")
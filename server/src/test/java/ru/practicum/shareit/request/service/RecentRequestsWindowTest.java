@@ -0,0 +1,114 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestView;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Окно последних запросов уменьшено до 4 запросов, чтобы страницы выходили за его пределы.
+ */
+@SpringBootTest(properties = "shareit.recent-requests.capacity=4")
+@AllArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = "classpath:schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class RecentRequestsWindowTest {
+
+    private UserService userService;
+    private ItemRequestService requestService;
+    private RecentRequestsWindow window;
+
+    @Test
+    public void shouldServePagesFromWindowAndFallBackBeyondIt() {
+        long userId = userService.addUser(makeUser("tomsmail@mail.ru")).getId();
+        long otherUserId = userService.addUser(makeUser("new@mail.ru")).getId();
+
+        List<Long> otherRequestIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            otherRequestIds.add(0, requestService.addRequest(makeDefaultRequest(), otherUserId).getId());
+        }
+
+        assertEquals(Optional.of(otherRequestIds.subList(0, 2)),
+                window.findOtherUsersRequests(userId, 0, 2).map(this::getViewIds));
+        assertEquals(Optional.of(otherRequestIds.subList(2, 4)),
+                window.findOtherUsersRequests(userId, 2, 2).map(this::getViewIds));
+        assertTrue(window.findOtherUsersRequests(userId, 3, 2).isEmpty());
+        assertTrue(window.findOtherUsersRequests(otherUserId, 0, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldDropRemovedRequesterFromWindow() {
+        long userId = userService.addUser(makeUser("tomsmail@mail.ru")).getId();
+        long otherUserId = userService.addUser(makeUser("new@mail.ru")).getId();
+        long thirdUserId = userService.addUser(makeUser("third@mail.ru")).getId();
+
+        long keptId = requestService.addRequest(makeDefaultRequest(), thirdUserId).getId();
+        requestService.addRequest(makeDefaultRequest(), otherUserId);
+        userService.deleteUser(otherUserId);
+
+        assertEquals(Optional.of(List.of(keptId)),
+                window.findOtherUsersRequests(userId, 0, 4).map(this::getViewIds));
+    }
+
+    @Test
+    public void shouldReturnSameOtherUsersRequestsInsideAndBeyondRecentRequestsWindow() {
+        long userId = userService.addUser(makeUser("tomsmail@mail.ru")).getId();
+        long otherUserId = userService.addUser(makeUser("new@mail.ru")).getId();
+
+        List<Long> otherRequestIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            otherRequestIds.add(0, requestService.addRequest(makeDefaultRequest(), otherUserId).getId());
+            if (i % 2 == 0) {
+                requestService.addRequest(makeDefaultRequest(), userId);
+            }
+        }
+
+        for (int from = 0; from < otherRequestIds.size(); from++) {
+            List<Long> expected = otherRequestIds.subList(from, Math.min(from + 2, otherRequestIds.size()));
+            assertEquals(expected, getIds(requestService.getOtherUsersRequests(userId, from, 2)));
+        }
+        assertEquals(otherRequestIds, getIds(requestService.getOtherUsersRequests(userId, 0, null)));
+    }
+
+    private List<Long> getIds(Collection<ItemRequestDto> requests) {
+        return requests.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> getViewIds(List<ItemRequestView> requests) {
+        return requests.stream()
+                .map(ItemRequestView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private ItemRequestDto makeDefaultRequest() {
+        return ItemRequestDto.builder()
+                .description("Need some item")
+                .build();
+    }
+
+    private UserDto makeUser(String email) {
+        return UserDto.builder()
+                .name("Tom")
+                .email(email)
+                .build();
+    }
+}
@@ -14,8 +14,10 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -228,6 +230,38 @@ public class UserControllerTest {
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
     }
 
+    @Test
+    public void shouldReturnUsersPageAfterGivenId() throws Exception {
+        List<UserDto> users = addUsers(3);
+
+        MockHttpServletResponse response = mvc.perform(
+                        get(getDefaultUri())
+                                .param("afterId", users.get(0).getId().toString())
+                                .param("size", "1"))
+                .andReturn().getResponse();
+
+        assertEquals(List.of(users.get(1)),
+                mapper.readValue(response.getContentAsString(), new TypeReference<List<UserDto>>() {
+                }));
+    }
+
+    @Test
+    public void shouldStreamAllUsersAsNdjson() throws Exception {
+        List<UserDto> users = addUsers(3);
+
+        MvcResult asyncResult = mvc.perform(get(getDefaultUri() + "/stream"))
+                .andReturn();
+        MockHttpServletResponse response = mvc.perform(asyncDispatch(asyncResult))
+                .andReturn().getResponse();
+
+        List<UserDto> streamedUsers = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            streamedUsers.add(mapper.readValue(line, UserDto.class));
+        }
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        assertEquals(users, streamedUsers);
+    }
+
     private String getDefaultUri() {
         return String.format("http://localhost:%d/users", port);
     }
@@ -239,4 +273,20 @@ public class UserControllerTest {
                 .email("tomsmail@mail.ru")
                 .build();
     }
+
+    private List<UserDto> addUsers(int count) throws Exception {
+        List<UserDto> users = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            UserDto userDto = makeDefaultUserDto();
+            userDto.setEmail(i + userDto.getEmail());
+
+            MockHttpServletResponse response = mvc.perform(post(getDefaultUri())
+                            .content(mapper.writeValueAsString(userDto))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+            users.add(mapper.readValue(response.getContentAsString(), UserDto.class));
+        }
+        return users;
+    }
 }
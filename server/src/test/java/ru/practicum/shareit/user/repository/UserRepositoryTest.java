@@ -1,20 +1,27 @@
 package ru.practicum.shareit.user.repository;
 
 import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.cache.CacheRegions;
+import ru.practicum.shareit.user.exception.DuplicateEmailException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UpdatedUserFields;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -25,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 public class UserRepositoryTest {
 
     private UserRepository repository;
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     public void updateUserTest() {
@@ -50,6 +58,75 @@ public class UserRepositoryTest {
         assertEquals(finishedUser, result.get());
     }
 
+    @Test
+    public void shouldKeepUserAndNotThrowDatabaseErrorForDuplicateEmail() {
+        Map<UpdatedUserFields, Boolean> targetFields = new HashMap<>();
+        targetFields.put(UpdatedUserFields.EMAIL, true);
+        targetFields.put(UpdatedUserFields.NAME, true);
+
+        User user1 = repository.save(makeDefaultUser());
+        User user2 = makeDefaultUser();
+        user2.setEmail("other@mail.ru");
+        user2 = repository.save(user2);
+
+        User patch = User.builder().id(user2.getId()).name("Sam").email(user1.getEmail()).build();
+        assertThrows(DuplicateEmailException.class, () -> repository.updateUser(patch, targetFields));
+
+        User unchangedUser = repository.findById(user2.getId()).orElseThrow();
+        assertEquals("Tom", unchangedUser.getName());
+        assertEquals("other@mail.ru", unchangedUser.getEmail());
+
+        patch.setEmail("new@mail.ru");
+        User updatedUser = repository.updateUser(patch, targetFields);
+        assertEquals("Sam", updatedUser.getName());
+        assertEquals("new@mail.ru", updatedUser.getEmail());
+        assertEquals(unchangedUser.getVersion() + 1, updatedUser.getVersion());
+    }
+
+    @Test
+    public void shouldReadUserThroughSecondLevelCacheAndEvictItOnUpdate() {
+        Map<UpdatedUserFields, Boolean> targetFields = new HashMap<>();
+        targetFields.put(UpdatedUserFields.EMAIL, false);
+        targetFields.put(UpdatedUserFields.NAME, true);
+
+        long userId = repository.save(makeDefaultUser()).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        repository.findById(userId);
+        assertEquals("Tom", repository.findById(userId).orElseThrow().getName());
+        CacheRegionStatistics users = statistics.getDomainDataRegionStatistics(CacheRegions.USERS);
+        assertEquals(1, users.getMissCount());
+        assertEquals(1, users.getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        repository.updateUser(User.builder().id(userId).name("Sam").build(), targetFields);
+        assertEquals("Sam", repository.findById(userId).orElseThrow().getName());
+    }
+
+    @Test
+    public void shouldKeepOtherUsersCachedOnUpdate() {
+        Map<UpdatedUserFields, Boolean> targetFields = new HashMap<>();
+        targetFields.put(UpdatedUserFields.EMAIL, false);
+        targetFields.put(UpdatedUserFields.NAME, true);
+
+        long userId = repository.save(makeDefaultUser()).getId();
+        User otherUser = makeDefaultUser();
+        otherUser.setEmail("other@mail.ru");
+        long otherUserId = repository.save(otherUser).getId();
+        entityManagerFactory.getCache().evictAll();
+        long initialVersion = repository.findById(userId).orElseThrow().getVersion();
+        repository.findById(otherUserId);
+
+        repository.updateUser(User.builder().id(userId).name("Sam").build(), targetFields);
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, otherUserId));
+        User updatedUser = repository.findById(userId).orElseThrow();
+        assertEquals("Sam", updatedUser.getName());
+        assertEquals(initialVersion + 1, updatedUser.getVersion());
+    }
+
     private User makeDefaultUser() {
         return User.builder()
                 .name("Tom")
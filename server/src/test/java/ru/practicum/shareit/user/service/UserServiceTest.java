@@ -5,12 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.DuplicateEmailException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -21,6 +31,10 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserServiceTest {
 
     private UserService service;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService requestService;
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     public void shouldThrowExceptionForDuplicateEmail() {
@@ -55,7 +69,17 @@ public class UserServiceTest {
         assertEquals(user, service.getUserDto(userId));
 
         service.deleteUser(userId);
-        assertTrue(service.getUsers().isEmpty());
+        assertTrue(service.getUsers(0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldLimitUsersPageSize() {
+        jdbcTemplate.update("INSERT INTO users (user_id, user_name, email) "
+                + "SELECT X, 'user', 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 1001)");
+
+        assertEquals(1000, service.getUsers(0, 5000).size());
+        assertEquals(1, service.getUsers(1000, 5000).size());
+        assertEquals(10, service.getUsers(0, 10).size());
     }
 
     @Test
@@ -63,6 +87,62 @@ public class UserServiceTest {
         assertThrows(UserNotFoundException.class, () -> service.deleteUser(1L));
     }
 
+    @Test
+    public void shouldInvalidateCachedUserOnUpdateAndDelete() {
+        long userId = service.addUser(makeDefaultUser()).getId();
+        assertFalse(service.userNotFound(userId));
+        assertEquals("Tom", service.getUser(userId).getName());
+
+        UserDto patch = UserDto.builder().name("Jerry").build();
+        service.updateUser(patch, userId);
+        assertEquals("Jerry", service.getUser(userId).getName());
+
+        service.deleteUser(userId);
+        assertTrue(service.userNotFound(userId));
+        assertThrows(UserNotFoundException.class, () -> service.getUser(userId));
+    }
+
+    @Test
+    public void shouldDeleteUserWithRelatedItemsBookingsAndRequests() {
+        long userId = service.addUser(makeDefaultUser()).getId();
+        UserDto other = makeDefaultUser();
+        other.setEmail("other@mail.ru");
+        long otherId = service.addUser(other).getId();
+
+        long requestId = requestService.addRequest(
+                ItemRequestDto.builder().description("Need a drill").build(), userId).getId();
+        long ownItemId = itemService.addItem(makeItem(null), userId).getId();
+        long answerItemId = itemService.addItem(makeItem(requestId), otherId).getId();
+        bookingService.addBooking(makeBooking(ownItemId), otherId);
+        bookingService.addBooking(makeBooking(answerItemId), userId);
+
+        service.deleteUser(userId);
+
+        assertTrue(service.userNotFound(userId));
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemDto(ownItemId, otherId));
+        ItemDto answerItem = itemService.getItemDto(answerItemId, otherId);
+        assertNull(answerItem.getRequestId());
+        assertNull(answerItem.getNextBooking());
+        assertTrue(bookingService.getBookingsByUserAndState(otherId, null, "ALL", 0, 10).isEmpty());
+    }
+
+    private ItemDto makeItem(Long requestId) {
+        return ItemDto.builder()
+                .name("Drill")
+                .description("Power drill")
+                .available(true)
+                .requestId(requestId)
+                .build();
+    }
+
+    private BookingDtoRequest makeBooking(long itemId) {
+        return BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+    }
+
     private UserDto makeDefaultUser() {
         return UserDto.builder()
                 .name("Tom")